@@ -0,0 +1,51 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building a game from an already parsed dungeon,
+ * covering room and door creation, verifyRooms and item placement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = DungeonFixtures.WARMUP_ITERATIONS)
+@Measurement(iterations = DungeonFixtures.MEASUREMENT_ITERATIONS)
+@Fork(1)
+public class ConstructionBenchmark {
+    @Param({"small", "medium", "large"})
+    private String size;
+
+    private DungeonFixtures.ParsedDungeon dungeon;
+
+    /**
+     * Parses the dungeon being measured.
+     * @throws IOException in case the dungeon files cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dungeon = DungeonFixtures.parse(DungeonFixtures.configFor(size, Files.createTempDirectory("rogue-bench")));
+    }
+
+    /**
+     * Builds the game.
+     * @return the game
+     */
+    @Benchmark
+    public Rogue construct() {
+        return new Rogue(dungeon.source());
+    }
+}
@@ -0,0 +1,222 @@
+package rogue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Dungeon files and parsed dungeons shared by the benchmarks.
+ * The small dungeon is the one shipped with the game; the others are
+ * generated with a fixed seed so runs can be compared with each other.
+ */
+public final class DungeonFixtures {
+    /** Number of rooms in the medium generated dungeon. */
+    public static final int MEDIUM_ROOMS = 1000;
+    /** Number of rooms in the large generated dungeon. */
+    public static final int LARGE_ROOMS = 50000;
+    /** Warmup iterations every benchmark runs. */
+    public static final int WARMUP_ITERATIONS = 3;
+    /** Measured iterations every benchmark runs. */
+    public static final int MEASUREMENT_ITERATIONS = 5;
+
+    private static final String SMALL_ROOMS_FILE = "A2_Rooms.json";
+    private static final String SYMBOLS_FILE = "symbols-map.json";
+    private static final String[] ITEM_TYPES = {"POTION", "SCROLL", "ARMOR", "FOOD", "GOLD"};
+    private static final int CATALOG_SIZE = 2000;
+    private static final int ROOM_WIDTH = 20;
+    private static final int ROOM_HEIGHT = 10;
+    private static final int MAX_LOOT = 5;
+    private static final int CROSS_LINK = 10;
+    private static final int CROSS_LINK_EVERY = 3;
+    private static final int CHAIN_DOOR = 3;
+    private static final int CROSS_LINK_DOOR = 4;
+    private static final int SEED = 7;
+
+    /**
+     * Not instantiable.
+     */
+    private DungeonFixtures() {
+    }
+
+    /**
+     * Writes the file locations file for a dungeon of the given size.
+     * @param size - "small", "medium" or "large"
+     * @param dir - directory to write generated files into
+     * @return name of the file locations file to hand to RogueParser
+     * @throws IOException in case the files cannot be written
+     */
+    public static String configFor(String size, Path dir) throws IOException {
+        Path rooms;
+        switch (size) {
+            case "small":
+                rooms = Paths.get(SMALL_ROOMS_FILE).toAbsolutePath();
+                break;
+            case "medium":
+                rooms = generate(MEDIUM_ROOMS, dir.resolve("medium-rooms.json"));
+                break;
+            case "large":
+                rooms = generate(LARGE_ROOMS, dir.resolve("large-rooms.json"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown dungeon size: " + size);
+        }
+        Path config = dir.resolve(size + "-fileLocations.json");
+        String json = "{\"Rooms\":\"" + jsonPath(rooms) + "\",\"Symbols\":\""
+                + jsonPath(Paths.get(SYMBOLS_FILE).toAbsolutePath()) + "\"}";
+        Files.write(config, json.getBytes(StandardCharsets.UTF_8));
+        return config.toString();
+    }
+
+    /**
+     * Parses a dungeon into a source that can be replayed any number of times.
+     * @param config - name of the file locations file
+     * @return the parsed dungeon
+     */
+    public static ParsedDungeon parse(String config) {
+        return new ParsedDungeon(new RogueParser(config));
+    }
+
+    /**
+     * Method escapes a path for use inside a JSON string.
+     * @param path - the path
+     * @return the escaped path
+     */
+    private static String jsonPath(Path path) {
+        return path.toString().replace("\\", "\\\\");
+    }
+
+    /**
+     * Writes a generated rooms file. Rooms form a north-south chain with
+     * extra east-west links, and each holds a few random items.
+     * @param roomCount - number of rooms to generate
+     * @param file - file to write
+     * @return the file
+     * @throws IOException in case the file cannot be written
+     */
+    private static Path generate(int roomCount, Path file) throws IOException {
+        Random random = new Random(SEED);
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.write("{\"room\":[");
+            for (int id = 1; id <= roomCount; id++) {
+                if (id > 1) {
+                    out.write(',');
+                }
+                writeRoom(out, id, roomCount, random);
+            }
+            out.write("],\"items\":[");
+            for (int id = 1; id <= CATALOG_SIZE; id++) {
+                if (id > 1) {
+                    out.write(',');
+                }
+                out.write("{\"id\":" + id + ",\"name\":\"item" + id + "\",\"type\":\""
+                        + ITEM_TYPES[random.nextInt(ITEM_TYPES.length)] + "\"}");
+            }
+            out.write("]}");
+        }
+        return file;
+    }
+
+    /**
+     * Writes one generated room.
+     * @param out - where to write
+     * @param id - id of the room
+     * @param roomCount - number of rooms in the dungeon
+     * @param random - source of item placements
+     * @throws IOException in case the file cannot be written
+     */
+    private static void writeRoom(Writer out, int id, int roomCount, Random random) throws IOException {
+        List<String> doors = new ArrayList<>();
+        if (id > 1) {
+            doors.add(door("N", CHAIN_DOOR, id - 1));
+        }
+        if (id < roomCount) {
+            doors.add(door("S", CHAIN_DOOR, id + 1));
+        }
+        if (id + CROSS_LINK <= roomCount && id % CROSS_LINK_EVERY == 0) {
+            doors.add(door("E", CROSS_LINK_DOOR, id + CROSS_LINK));
+        }
+        if (id - CROSS_LINK >= 1 && (id - CROSS_LINK) % CROSS_LINK_EVERY == 0) {
+            doors.add(door("W", CROSS_LINK_DOOR, id - CROSS_LINK));
+        }
+        out.write("{\"id\":" + id + ",\"start\":" + (id == 1) + ",\"height\":" + ROOM_HEIGHT
+                + ",\"width\":" + ROOM_WIDTH + ",\"doors\":[" + String.join(",", doors) + "],\"loot\":[");
+        int loot = random.nextInt(MAX_LOOT + 1);
+        for (int i = 0; i < loot; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write("{\"id\":" + (1 + random.nextInt(CATALOG_SIZE)) + ",\"x\":"
+                    + (1 + random.nextInt(ROOM_WIDTH - 2)) + ",\"y\":" + (1 + random.nextInt(ROOM_HEIGHT - 2)) + "}");
+        }
+        out.write("]}");
+    }
+
+    /**
+     * Method formats one door entry.
+     * @param dir - wall of the door
+     * @param wallPos - position along the wall
+     * @param conRoom - room on the other side
+     * @return the JSON for the door
+     */
+    private static String door(String dir, int wallPos, int conRoom) {
+        return "{\"dir\":\"" + dir + "\",\"wall_pos\":" + wallPos + ",\"con_room\":" + conRoom + "}";
+    }
+
+    /**
+     * A dungeon held as parsed descriptions, so Rogue can be built from it repeatedly
+     * without measuring the parser.
+     */
+    public static final class ParsedDungeon {
+        private final Map<String, Character> symbols;
+        private final List<RoomSpec> rooms = new ArrayList<>();
+        private final List<LootSpec> loot = new ArrayList<>();
+
+        /**
+         * Constructor that drains a source.
+         * @param source - the dungeon to hold
+         */
+        ParsedDungeon(DungeonSource source) {
+            symbols = source.getSymbols();
+            for (RoomSpec room = source.nextRoomSpec(); room != null; room = source.nextRoomSpec()) {
+                rooms.add(room);
+            }
+            for (LootSpec item = source.nextLootSpec(); item != null; item = source.nextLootSpec()) {
+                loot.add(item);
+            }
+        }
+
+        /**
+         * Creates a fresh source over the held descriptions.
+         * @return a source positioned at the first room
+         */
+        public DungeonSource source() {
+            return new DungeonSource() {
+                private int nextRoom;
+                private int nextLoot;
+
+                @Override
+                public Map<String, Character> getSymbols() {
+                    return symbols;
+                }
+
+                @Override
+                public RoomSpec nextRoomSpec() {
+                    return nextRoom < rooms.size() ? rooms.get(nextRoom++) : null;
+                }
+
+                @Override
+                public LootSpec nextLootSpec() {
+                    return nextLoot < loot.size() ? loot.get(nextLoot++) : null;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many moves per second Rogue.makeMove can process.
+ * The player walks a fixed loop through the medium dungeon, crossing
+ * doors and picking up whatever lies in the way.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = DungeonFixtures.WARMUP_ITERATIONS)
+@Measurement(iterations = DungeonFixtures.MEASUREMENT_ITERATIONS)
+@Fork(1)
+public class MoveBenchmark {
+    private static final String WALK = "lllllllllllllllllljjjjjjjjhhhhhhhhhhhhhhhhhhkkkkkkkkllljjjjjjjjj";
+
+    private Rogue game;
+    private char[] walk = WALK.toCharArray();
+    private int next;
+
+    /**
+     * Builds the game being measured.
+     * @throws IOException in case the dungeon files cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        String config = DungeonFixtures.configFor("medium", Files.createTempDirectory("rogue-bench"));
+        game = new Rogue(new RogueParser(config));
+        game.setPlayer(new Player("bench"));
+    }
+
+    /**
+     * Makes the next move of the walk.
+     * @return the move message
+     * @throws InvalidMoveException never, the walk only uses movement keys
+     */
+    @Benchmark
+    public String makeMove() throws InvalidMoveException {
+        char input = walk[next];
+        next = (next + 1) % walk.length;
+        return game.makeMove(input);
+    }
+}
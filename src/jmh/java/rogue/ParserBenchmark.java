@@ -0,0 +1,68 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing the dungeon files with RogueParser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = DungeonFixtures.WARMUP_ITERATIONS)
+@Measurement(iterations = DungeonFixtures.MEASUREMENT_ITERATIONS)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"small", "medium", "large"})
+    private String size;
+
+    private String config;
+
+    /**
+     * Writes the dungeon files for the size being measured.
+     * @throws IOException in case the files cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Path dir = Files.createTempDirectory("rogue-bench");
+        config = DungeonFixtures.configFor(size, dir);
+    }
+
+    /**
+     * Parses the whole dungeon up front.
+     * @return the parser
+     */
+    @Benchmark
+    public RogueParser parse() {
+        return new RogueParser(config);
+    }
+
+    /**
+     * Parses the dungeon in streaming mode and reads every room and item.
+     * @param blackhole - consumes the parsed rooms and items
+     */
+    @Benchmark
+    public void parseStreaming(Blackhole blackhole) {
+        RogueParser parser = new RogueParser(config, true);
+        for (RoomSpec room = parser.nextRoomSpec(); room != null; room = parser.nextRoomSpec()) {
+            blackhole.consume(room);
+        }
+        for (LootSpec loot = parser.nextLootSpec(); loot != null; loot = parser.nextLootSpec()) {
+            blackhole.consume(loot);
+        }
+    }
+}
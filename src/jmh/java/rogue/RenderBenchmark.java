@@ -0,0 +1,78 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering a single room and the whole dungeon.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = DungeonFixtures.WARMUP_ITERATIONS)
+@Measurement(iterations = DungeonFixtures.MEASUREMENT_ITERATIONS)
+@Fork(1)
+public class RenderBenchmark {
+    @Param({"small", "medium"})
+    private String size;
+
+    private Rogue game;
+    private Room room;
+    private Player player;
+    private int step;
+
+    /**
+     * Builds the game being measured.
+     * @throws IOException in case the dungeon files cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        String config = DungeonFixtures.configFor(size, Files.createTempDirectory("rogue-bench"));
+        game = new Rogue(new RogueParser(config));
+        game.setPlayer(new Player("bench"));
+        player = game.getPlayer();
+        room = player.getCurrentRoom();
+    }
+
+    /**
+     * Moves the player to the next floor tile and renders the room they are in.
+     * The room changes on every call, so each call draws a new frame.
+     * @return the rendering
+     */
+    @Benchmark
+    public String displayRoom() {
+        step ^= 1;
+        player.setLocation(1 + step, 1);
+        return room.displayRoom();
+    }
+
+    /**
+     * Renders the room the player is in when nothing in it has changed since the last call.
+     * @return the rendering
+     */
+    @Benchmark
+    public String displayUnchangedRoom() {
+        return room.displayRoom();
+    }
+
+    /**
+     * Renders every room in the dungeon.
+     * @return the rendering
+     */
+    @Benchmark
+    public String displayAll() {
+        return game.displayAll();
+    }
+}
@@ -0,0 +1,162 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a dungeon compiled by DungeonCompiler.
+ * The file is memory mapped and rooms and items are decoded straight from
+ * the mapped buffer as the game asks for them, without any JSON parsing.
+ */
+public class BinaryDungeon implements DungeonSource {
+    private MappedByteBuffer mapped;
+    private ByteBuffer roomCursor;
+    private ByteBuffer lootCursor;
+    private String[] strings;
+    private HashMap<String, Character> symbols = new HashMap<>();
+    private int numOfRooms;
+    private int numOfItems;
+    private int roomsRead;
+    private int lootRead;
+
+    /**
+     * Constructor that maps a compiled dungeon file.
+     * @param filename - name of the compiled dungeon file
+     * @throws IOException in case the file cannot be read or is not a compiled dungeon
+     */
+    public BinaryDungeon(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            if (channel.size() > DungeonFormat.MAX_FILE_BYTES) {
+                throw new IOException(filename + " is larger than a compiled dungeon can be");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.limit() < DungeonFormat.HEADER_BYTES || mapped.getInt(0) != DungeonFormat.MAGIC) {
+            throw new IOException("Not a compiled dungeon file: " + filename);
+        }
+        if (mapped.getInt(Integer.BYTES) != DungeonFormat.VERSION) {
+            throw new IOException("Unsupported compiled dungeon version in " + filename);
+        }
+
+        ByteBuffer header = mapped.duplicate();
+        header.position(DungeonFormat.ROOM_COUNT_OFFSET);
+        numOfRooms = header.getInt();
+        numOfItems = header.getInt();
+        long lootOffset = header.getLong();
+        long stringOffset = header.getLong();
+        if (lootOffset < DungeonFormat.HEADER_BYTES || lootOffset > mapped.limit()
+                || stringOffset < lootOffset || stringOffset > mapped.limit()) {
+            throw new IOException("Corrupt compiled dungeon file: " + filename);
+        }
+
+        readStrings((int) stringOffset);
+
+        roomCursor = mapped.duplicate();
+        roomCursor.position(DungeonFormat.HEADER_BYTES);
+        int symbolCount = roomCursor.getInt();
+        for (int i = 0; i < symbolCount; i++) {
+            String name = strings[roomCursor.getInt()];
+            symbols.put(name, roomCursor.getChar());
+        }
+
+        lootCursor = mapped.duplicate();
+        lootCursor.position((int) lootOffset);
+    }
+
+    /**
+     * Method decodes the string table.
+     * @param offset - position of the string table in the file
+     */
+    private void readStrings(int offset) {
+        ByteBuffer cursor = mapped.duplicate();
+        cursor.position(offset);
+        strings = new String[cursor.getInt()];
+        byte[] bytes = new byte[Short.MAX_VALUE];
+        for (int i = 0; i < strings.length; i++) {
+            int length = cursor.getShort() & Character.MAX_VALUE;
+            if (length > bytes.length) {
+                bytes = new byte[length];
+            }
+            cursor.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Method looks up a string reference.
+     * @param ref - index into the string table
+     * @return the string, or null for a missing string
+     */
+    private String string(int ref) {
+        return ref == DungeonFormat.NO_STRING ? null : strings[ref];
+    }
+
+    /**
+     * Get the map of symbols.
+     * @return Map<String, Character> Map of symbols
+     */
+    @Override
+    public Map<String, Character> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Return the next room.
+     * @return (RoomSpec) Information about a room
+     */
+    @Override
+    public RoomSpec nextRoomSpec() {
+        if (roomsRead == numOfRooms) {
+            return null;
+        }
+        roomsRead++;
+
+        int id = roomCursor.getInt();
+        boolean start = roomCursor.get() != 0;
+        int height = roomCursor.getInt();
+        int width = roomCursor.getInt();
+        DoorSpec[] doors = new DoorSpec[roomCursor.get() & DungeonFormat.MAX_DOORS];
+        for (int i = 0; i < doors.length; i++) {
+            doors[i] = new DoorSpec(string(roomCursor.getInt()), roomCursor.getInt(), roomCursor.getInt());
+        }
+        return new RoomSpec(id, start, height, width, doors);
+    }
+
+    /**
+     * Return the next item.
+     * @return (LootSpec) Information about an item
+     */
+    @Override
+    public LootSpec nextLootSpec() {
+        if (lootRead == numOfItems) {
+            return null;
+        }
+        lootRead++;
+
+        return new LootSpec(lootCursor.getInt(), lootCursor.getInt(), lootCursor.getInt(), lootCursor.getInt(),
+                string(lootCursor.getInt()), string(lootCursor.getInt()));
+    }
+
+    /**
+     * Get the number of rooms.
+     * @return (int) Number of rooms in the file
+     */
+    public int getNumOfRooms() {
+        return numOfRooms;
+    }
+
+    /**
+     * Get the number of items.
+     * @return (int) Number of item placements in the file
+     */
+    public int getNumOfItems() {
+        return numOfItems;
+    }
+}
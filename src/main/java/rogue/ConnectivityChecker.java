@@ -0,0 +1,195 @@
+package rogue;
+
+import java.util.ArrayList;
+
+/**
+ * Finds the groups of rooms that cannot reach each other through doors, and joins them.
+ * The door graph is walked once into a union-find structure, and each group
+ * apart from the starting room's is then joined to it by a single new door pair.
+ * Rooms are seen through a RoomGraph, so built rooms and the exit tables of
+ * rooms not built yet are checked and repaired the same way.
+ */
+public class ConnectivityChecker {
+    private RoomGraph graph;
+    private int startSlot;
+    private int[] parent;
+
+    /**
+     * Constructor that builds the groups of rooms from their doors.
+     * @param dungeon - the rooms of the dungeon and their doors
+     * @param start - slot of the starting room, which every other group is joined to
+     */
+    public ConnectivityChecker(RoomGraph dungeon, int start) {
+        graph = dungeon;
+        startSlot = start;
+        parent = new int[graph.getNumOfRooms()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (int i = 0; i < parent.length; i++) {
+            for (Direction wall : Direction.values()) {
+                int other = graph.getExitRoom(i, wall);
+                if (other != RoomGraph.NO_ROOM) {
+                    union(i, other);
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins every group of rooms to the starting room's group, adding doors through the graph.
+     * @return report of what was found and repaired
+     */
+    public ConnectivityReport repair() {
+        if (parent.length == 0) {
+            return new ConnectivityReport(0, 0, 0, new ArrayList<>());
+        }
+        int[] starts = new int[parent.length + 1];
+        int[] members = groupMembers(starts);
+        int components = 0;
+        for (int root = 0; root < parent.length; root++) {
+            if (starts[root + 1] > starts[root]) {
+                components++;
+            }
+        }
+
+        int main = find(startSlot);
+        ArrayList<Integer> open = new ArrayList<>();
+        addOpenRooms(open, members, starts, main);
+        int added = 0;
+        ArrayList<Integer> unreachable = new ArrayList<>();
+
+        for (int root = 0; root < parent.length; root++) {
+            if (root == main || starts[root + 1] == starts[root]) {
+                continue;
+            }
+            if (connect(open, members, starts, root)) {
+                added += 2;
+                addOpenRooms(open, members, starts, root);
+            } else {
+                for (int k = starts[root]; k < starts[root + 1]; k++) {
+                    unreachable.add(members[k]);
+                }
+            }
+        }
+        if (parent.length == 1 && !hasDoor(0)) {
+            unreachable.add(0);
+        }
+        return new ConnectivityReport(parent.length, components, added, unreachable);
+    }
+
+    /**
+     * Method joins one group to the rooms already connected.
+     * @param open - slots of connected rooms that may still have a free wall
+     * @param members - room slots grouped by their group's root
+     * @param starts - where each group's slots start in members
+     * @param root - root of the group to join
+     * @return true if a door pair was added
+     */
+    private boolean connect(ArrayList<Integer> open, int[] members, int[] starts, int root) {
+        for (int k = starts[root]; k < starts[root + 1]; k++) {
+            int slot = members[k];
+            if (!hasFreeWall(slot)) {
+                continue;
+            }
+            // Connected rooms whose walls are full will never be usable again, so drop them
+            while (!open.isEmpty() && !hasFreeWall(open.get(open.size() - 1))) {
+                open.remove(open.size() - 1);
+            }
+            return !open.isEmpty() && graph.addDoors(slot, open.get(open.size() - 1));
+        }
+        return false;
+    }
+
+    /**
+     * Method lists the rooms of a group that have a free wall.
+     * @param open - list to add the slots to
+     * @param members - room slots grouped by their group's root
+     * @param starts - where each group's slots start in members
+     * @param root - root of the group
+     */
+    private void addOpenRooms(ArrayList<Integer> open, int[] members, int[] starts, int root) {
+        for (int k = starts[root]; k < starts[root + 1]; k++) {
+            if (hasFreeWall(members[k])) {
+                open.add(members[k]);
+            }
+        }
+    }
+
+    /**
+     * Method sorts the room slots by the root of their group, keeping room order within each group.
+     * @param starts - filled with where each root's slots start, indexed by root
+     * @return room slots grouped by root
+     */
+    private int[] groupMembers(int[] starts) {
+        int[] roots = new int[parent.length];
+        for (int i = 0; i < parent.length; i++) {
+            roots[i] = find(i);
+            starts[roots[i] + 1]++;
+        }
+        for (int i = 0; i < parent.length; i++) {
+            starts[i + 1] += starts[i];
+        }
+        int[] fill = starts.clone();
+        int[] members = new int[parent.length];
+        for (int i = 0; i < parent.length; i++) {
+            members[fill[roots[i]]++] = i;
+        }
+        return members;
+    }
+
+    /**
+     * Method checks if a room has any door.
+     * @param slot - slot of the room
+     * @return true if the room has a door
+     */
+    private boolean hasDoor(int slot) {
+        for (Direction wall : Direction.values()) {
+            if (graph.hasDoor(slot, wall)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method checks if a room has a wall without a door.
+     * @param slot - slot of the room
+     * @return true if a door can still be added
+     */
+    private boolean hasFreeWall(int slot) {
+        for (Direction wall : Direction.values()) {
+            if (!graph.hasDoor(slot, wall)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method finds the root of a slot's group, halving the path as it goes.
+     * @param slot - room slot
+     * @return root slot of the group
+     */
+    private int find(int slot) {
+        int x = slot;
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Method merges the groups of two slots.
+     * @param a - first room slot
+     * @param b - second room slot
+     */
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package rogue;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of checking that every room of a dungeon can be reached.
+ */
+public final class ConnectivityReport {
+    private final int roomCount;
+    private final int componentCount;
+    private final int doorsAdded;
+    private final List<Integer> unreachableSlots;
+
+    /**
+     * Constructor with all data provided.
+     * @param rooms - number of rooms checked
+     * @param components - number of disconnected groups of rooms found before repair
+     * @param added - number of doors added to connect them
+     * @param unreachable - slots of the rooms that still cannot be reached after repair
+     */
+    public ConnectivityReport(int rooms, int components, int added, List<Integer> unreachable) {
+        roomCount = rooms;
+        componentCount = components;
+        doorsAdded = added;
+        unreachableSlots = Collections.unmodifiableList(unreachable);
+    }
+
+    /**
+     * Method checks if every room can be reached from the starting room.
+     * @return true if the dungeon is usable
+     */
+    public boolean isConnected() {
+        return unreachableSlots.isEmpty();
+    }
+
+    /**
+     * Accessor method to retrieve the number of rooms checked.
+     * @return roomCount
+     */
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    /**
+     * Accessor method to retrieve the number of disconnected groups found before repair.
+     * @return componentCount - 1 for a dungeon that needed no repair
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Accessor method to retrieve the number of doors added by the repair.
+     * Each connection adds one door on each side.
+     * @return doorsAdded
+     */
+    public int getDoorsAdded() {
+        return doorsAdded;
+    }
+
+    /**
+     * Accessor method to retrieve the rooms the repair could not connect.
+     * Rooms are numbered in dungeon file order, as in Rogue.getRooms().
+     * @return unreachableSlots - read only list of room slots
+     */
+    public List<Integer> getUnreachableSlots() {
+        return unreachableSlots;
+    }
+
+    @Override
+    public String toString() {
+        return roomCount + " rooms in " + componentCount + " groups, " + doorsAdded + " doors added, "
+                + unreachableSlots.size() + " rooms unreachable";
+    }
+}
@@ -0,0 +1,88 @@
+package rogue;
+
+/**
+ * The four walls of a room, and the movement key that walks towards each.
+ * The order is the order doors are filled in when rooms are joined.
+ */
+public enum Direction {
+    NORTH("N", Rogue.UP),
+    SOUTH("S", Rogue.DOWN),
+    WEST("W", Rogue.LEFT),
+    EAST("E", Rogue.RIGHT);
+
+    private static final Direction[] VALUES = values();
+
+    private final String code;
+    private final char key;
+
+    /**
+     * Constructor with all data provided.
+     * @param wallCode - the letter the dungeon file uses for the wall
+     * @param moveKey - the key that moves the player towards the wall
+     */
+    Direction(String wallCode, char moveKey) {
+        code = wallCode;
+        key = moveKey;
+    }
+
+    /**
+     * Accessor method to retrieve the letter the dungeon file uses for the wall.
+     * @return code - either: "N", "S", "W", "E"
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Accessor method to retrieve the key that moves the player towards the wall.
+     * @return key
+     */
+    public char getKey() {
+        return key;
+    }
+
+    /**
+     * Method picks the coordinate that runs along the wall.
+     * Door positions on the north and south walls are columns, on the west and east walls rows.
+     * @param x - column of a tile
+     * @param y - row of a tile
+     * @return x for the north and south walls, otherwise y
+     */
+    public int along(int x, int y) {
+        return this == NORTH || this == SOUTH ? x : y;
+    }
+
+    /**
+     * Method finds the wall for a letter from the dungeon file.
+     * @param wallCode - either: "N", "S", "W", "E"
+     * @return the direction, or null if the letter is not a wall
+     */
+    public static Direction fromCode(String wallCode) {
+        for (Direction dir : VALUES) {
+            if (dir.code.equals(wallCode)) {
+                return dir;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method finds the wall a movement key walks towards.
+     * @param moveKey - a key pressed by the user
+     * @return the direction, or null if the key is not a movement key
+     */
+    public static Direction fromKey(char moveKey) {
+        switch (moveKey) {
+            case Rogue.UP:
+                return NORTH;
+            case Rogue.DOWN:
+                return SOUTH;
+            case Rogue.LEFT:
+                return WEST;
+            case Rogue.RIGHT:
+                return EAST;
+            default:
+                return null;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 public class Door {
     private ArrayList<Room> connectedRooms = new ArrayList<>();;
     private String wallDir;
+    private Direction wall;
     private int wallPos;
 
     /**
@@ -21,6 +22,18 @@ public class Door {
      */
     public Door(String direction, int position) {
         wallDir = direction;
+        wall = Direction.fromCode(direction);
+        wallPos = position;
+    }
+
+    /**
+     * Constructor that sets the wall and position of the door.
+     * @param direction - the wall the door is on
+     * @param position - position of wall
+     */
+    public Door(Direction direction, int position) {
+        wallDir = direction.getCode();
+        wall = direction;
         wallPos = position;
     }
 
@@ -40,6 +53,14 @@ public class Door {
         return wallDir;
     }
 
+    /**
+     * Method that acts as an accessor to retrieve the wall the door is on.
+     * @return wall - or null if the door's direction is not one of N,S,E,W
+     */
+    public Direction getWall() {
+        return wall;
+    }
+
     /**
      * Specify one of the two rooms that can be attached to a door.
      * @param r - the room that will be attached
@@ -0,0 +1,46 @@
+package rogue;
+
+/**
+ * Parsed description of a door, as read from the dungeon file.
+ */
+public final class DoorSpec {
+    private final String direction;
+    private final int wallPosition;
+    private final int connectedRoom;
+
+    /**
+     * Constructor with all data provided.
+     * @param dir - wall the door is on, either values N,S,E,W
+     * @param wallPos - position of the door along its wall
+     * @param conRoom - id of the room on the other side of the door
+     */
+    public DoorSpec(String dir, int wallPos, int conRoom) {
+        direction = dir;
+        wallPosition = wallPos;
+        connectedRoom = conRoom;
+    }
+
+    /**
+     * Accessor method to retrieve the wall the door is on.
+     * @return direction - either: "N", "S", "E", "W"
+     */
+    public String getDirection() {
+        return direction;
+    }
+
+    /**
+     * Accessor method to retrieve the position of the door along its wall.
+     * @return wallPosition
+     */
+    public int getWallPosition() {
+        return wallPosition;
+    }
+
+    /**
+     * Accessor method to retrieve the id of the room on the other side.
+     * @return connectedRoom
+     */
+    public int getConnectedRoom() {
+        return connectedRoom;
+    }
+}
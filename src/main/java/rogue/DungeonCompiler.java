@@ -0,0 +1,220 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles a dungeon into the binary format read by BinaryDungeon.
+ * Rooms and items are written as they are read from the source, so
+ * a streaming parser can compile dungeons larger than the heap.
+ */
+public final class DungeonCompiler {
+    // Large enough to hold the longest string the format allows
+    private static final int BUFFER_BYTES = 128 * 1024;
+
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private HashMap<String, Integer> stringRefs = new HashMap<>();
+    private ArrayList<String> strings = new ArrayList<>();
+
+    /**
+     * Constructor that opens the output file.
+     * @param outputFile - name of the compiled dungeon file
+     * @throws IOException in case the file cannot be created
+     */
+    private DungeonCompiler(String outputFile) throws IOException {
+        channel = FileChannel.open(Paths.get(outputFile), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Writes every symbol, room and item of a dungeon to a compiled dungeon file.
+     * @param source - the dungeon to compile
+     * @param outputFile - name of the compiled dungeon file
+     * @throws IOException in case the file cannot be written
+     */
+    public static void compile(DungeonSource source, String outputFile) throws IOException {
+        DungeonCompiler compiler = new DungeonCompiler(outputFile);
+        try {
+            compiler.write(source);
+        } finally {
+            compiler.channel.close();
+        }
+    }
+
+    /**
+     * Writes the whole file: header, symbols, rooms, loot and the string table.
+     * @param source - the dungeon to compile
+     * @throws IOException in case the file cannot be written
+     */
+    private void write(DungeonSource source) throws IOException {
+        buffer.position(DungeonFormat.HEADER_BYTES);
+
+        Map<String, Character> symbols = source.getSymbols();
+        buffer.putInt(symbols.size());
+        for (Map.Entry<String, Character> symbol : symbols.entrySet()) {
+            reserve(Integer.BYTES + Character.BYTES);
+            buffer.putInt(stringRef(symbol.getKey()));
+            buffer.putChar(symbol.getValue());
+        }
+
+        int roomCount = 0;
+        for (RoomSpec room = source.nextRoomSpec(); room != null; room = source.nextRoomSpec()) {
+            writeRoom(room);
+            roomCount++;
+        }
+
+        long lootOffset = position();
+        int lootCount = 0;
+        for (LootSpec loot = source.nextLootSpec(); loot != null; loot = source.nextLootSpec()) {
+            writeLoot(loot);
+            lootCount++;
+        }
+
+        long stringOffset = position();
+        writeStrings();
+        flush();
+        if (channel.position() > DungeonFormat.MAX_FILE_BYTES) {
+            throw new IOException("Compiled dungeon would be " + channel.position() + " bytes, more than the "
+                    + DungeonFormat.MAX_FILE_BYTES + " a compiled dungeon can hold");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(DungeonFormat.HEADER_BYTES);
+        header.putInt(DungeonFormat.MAGIC).putInt(DungeonFormat.VERSION);
+        header.putInt(roomCount).putInt(lootCount).putLong(lootOffset).putLong(stringOffset);
+        header.flip();
+        channel.write(header, 0);
+    }
+
+    /**
+     * Writes one room and its doors.
+     * @param room - description of the room
+     * @throws IOException in case the file cannot be written or the room has too many doors
+     */
+    private void writeRoom(RoomSpec room) throws IOException {
+        if (room.getDoors().size() > DungeonFormat.MAX_DOORS) {
+            throw new IOException("Room " + room.getId() + " has " + room.getDoors().size() + " doors, more than the "
+                    + DungeonFormat.MAX_DOORS + " a compiled dungeon can hold");
+        }
+        reserve(DungeonFormat.ROOM_BYTES);
+        buffer.putInt(room.getId());
+        buffer.put((byte) (room.isStart() ? 1 : 0));
+        buffer.putInt(room.getHeight());
+        buffer.putInt(room.getWidth());
+        buffer.put((byte) room.getDoors().size());
+        for (DoorSpec door : room.getDoors()) {
+            reserve(DungeonFormat.DOOR_BYTES);
+            buffer.putInt(stringRef(door.getDirection()));
+            buffer.putInt(door.getWallPosition());
+            buffer.putInt(door.getConnectedRoom());
+        }
+    }
+
+    /**
+     * Writes one item placement.
+     * @param loot - description of the item
+     * @throws IOException in case the file cannot be written
+     */
+    private void writeLoot(LootSpec loot) throws IOException {
+        reserve(DungeonFormat.LOOT_BYTES);
+        buffer.putInt(loot.getRoomId());
+        buffer.putInt(loot.getItemId());
+        buffer.putInt(loot.getX());
+        buffer.putInt(loot.getY());
+        buffer.putInt(stringRef(loot.getName()));
+        buffer.putInt(stringRef(loot.getType()));
+    }
+
+    /**
+     * Writes the table of every string referred to so far.
+     * @throws IOException in case the file cannot be written or a string is too long
+     */
+    private void writeStrings() throws IOException {
+        reserve(Integer.BYTES);
+        buffer.putInt(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > DungeonFormat.MAX_STRING_BYTES) {
+                throw new IOException("A string of " + bytes.length + " bytes is longer than the "
+                        + DungeonFormat.MAX_STRING_BYTES + " a compiled dungeon can hold");
+            }
+            reserve(Short.BYTES + bytes.length);
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Looks up the string table index of a string, adding it if it is new.
+     * @param string - the string, or null
+     * @return index of the string in the table
+     */
+    private int stringRef(String string) {
+        if (string == null) {
+            return DungeonFormat.NO_STRING;
+        }
+        Integer ref = stringRefs.get(string);
+        if (ref == null) {
+            ref = strings.size();
+            stringRefs.put(string, ref);
+            strings.add(string);
+        }
+        return ref;
+    }
+
+    /**
+     * Makes room in the buffer, flushing it to the file if needed.
+     * @param bytes - number of bytes about to be written
+     * @throws IOException in case the file cannot be written
+     */
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     * @throws IOException in case the file cannot be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Accessor method to retrieve the file position the next byte will be written at.
+     * @return position in the file
+     * @throws IOException in case the file position cannot be read
+     */
+    private long position() throws IOException {
+        return channel.position() + buffer.position();
+    }
+
+    /**
+     * Compiles the dungeon named by a file locations file.
+     *
+     * @param args file locations file and output file
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: DungeonCompiler <fileLocations.json> <dungeon.bin>");
+            return;
+        }
+        try {
+            compile(new RogueParser(args[0], true), args[1]);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
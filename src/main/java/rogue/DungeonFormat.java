@@ -0,0 +1,50 @@
+package rogue;
+
+/**
+ * Layout constants of the compiled binary dungeon format.
+ *
+ * A compiled dungeon is laid out as:
+ * <pre>
+ * header:  int magic, int version, int roomCount, int lootCount, long lootOffset, long stringOffset
+ * symbols: int count, then count x (int nameRef, char symbol)
+ * rooms:   roomCount x (int id, byte start, int height, int width, unsigned byte doorCount,
+ *                       then doorCount x (int directionRef, int wallPos, int conRoom))
+ * loot:    lootCount x (int roomId, int itemId, int x, int y, int nameRef, int typeRef)
+ * strings: int count, then count x (unsigned short byteLength, UTF-8 bytes)
+ * </pre>
+ * Strings are stored once and referred to by their index in the string table; -1 stands for null.
+ *
+ * Limits: a room has at most MAX_DOORS doors, a string is at most MAX_STRING_BYTES
+ * bytes of UTF-8, and the whole file is at most MAX_FILE_BYTES long, since it is
+ * mapped as a single buffer. DungeonCompiler refuses dungeons that exceed them.
+ */
+public final class DungeonFormat {
+    /** Marks the start of a compiled dungeon file ("RGDN"). */
+    public static final int MAGIC = 0x5247444E;
+    /** Version of the layout written by this code. */
+    public static final int VERSION = 1;
+    /** Size of the header in bytes. */
+    public static final int HEADER_BYTES = 4 * Integer.BYTES + 2 * Long.BYTES;
+    /** Position of the room count within the header. */
+    public static final int ROOM_COUNT_OFFSET = 2 * Integer.BYTES;
+    /** Size of a room without its doors: id, height and width, plus the start and door count bytes. */
+    public static final int ROOM_BYTES = 3 * Integer.BYTES + 2;
+    /** Size of a door: direction reference, wall position and connected room. */
+    public static final int DOOR_BYTES = 3 * Integer.BYTES;
+    /** Size of an item placement. */
+    public static final int LOOT_BYTES = 6 * Integer.BYTES;
+    /** Reference used for a missing string. */
+    public static final int NO_STRING = -1;
+    /** Most doors a room can have, as the count is one unsigned byte. */
+    public static final int MAX_DOORS = 0xFF;
+    /** Most UTF-8 bytes a string can have, as its length is an unsigned short. */
+    public static final int MAX_STRING_BYTES = 0xFFFF;
+    /** Longest file that can be read, as it is mapped as a single buffer. */
+    public static final long MAX_FILE_BYTES = Integer.MAX_VALUE;
+
+    /**
+     * Not instantiable.
+     */
+    private DungeonFormat() {
+    }
+}
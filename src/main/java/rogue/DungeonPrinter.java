@@ -0,0 +1,135 @@
+package rogue;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Writes the rendering of every room in a dungeon, one after another, to any Appendable.
+ * Rooms are rendered a window at a time into reusable per-room buffers and
+ * emitted in order, so memory stays bounded by the window however large the
+ * dungeon is. With a pool, the next window renders in parallel while the
+ * current one is being written.
+ */
+public class DungeonPrinter {
+    private static final int DEFAULT_WINDOW = 512;
+    private static final int PIECE_SIZE = 16;
+    private static final String ROOM_SEPARATOR = "\n\n";
+
+    private List<Room> rooms;
+    private int window;
+    private char[] scratch = new char[0];
+
+    /**
+     * Constructor with the default window size.
+     * @param dungeonRooms - the rooms to print, in order
+     */
+    public DungeonPrinter(List<Room> dungeonRooms) {
+        this(dungeonRooms, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Constructor with all data provided.
+     * @param dungeonRooms - the rooms to print, in order
+     * @param roomsPerWindow - how many rooms to render before writing them out
+     */
+    public DungeonPrinter(List<Room> dungeonRooms, int roomsPerWindow) {
+        rooms = dungeonRooms;
+        window = Math.max(1, roomsPerWindow);
+    }
+
+    /**
+     * Prints every room on the calling thread.
+     * @param out - where the rooms are written
+     * @throws IOException in case out cannot be written to
+     */
+    public void print(Appendable out) throws IOException {
+        StringBuilder buffer = new StringBuilder();
+        for (Room room : rooms) {
+            buffer.setLength(0);
+            room.appendRoom(buffer).append(ROOM_SEPARATOR);
+            emit(buffer, out);
+        }
+    }
+
+    /**
+     * Prints every room, rendering them in parallel windows on a pool.
+     * Rooms are written in the same order, and with the same text, as print(out).
+     * The pool's threads read the room list at the same time, so this is only for
+     * lists that are safe to read that way; a list that loads rooms when they are
+     * asked for, as LazyDungeon's does, must be printed with print(out).
+     * @param out - where the rooms are written
+     * @param pool - the pool to render on
+     * @throws IOException in case out cannot be written to
+     */
+    public void print(Appendable out, ForkJoinPool pool) throws IOException {
+        StringBuilder[][] buffers = {newBuffers(), newBuffers()};
+        ForkJoinTask<Void> pending = rooms.isEmpty() ? null : pool.submit(render(0, buffers[0]));
+        int turn = 0;
+        try {
+            for (int start = 0; start < rooms.size(); start += window) {
+                pending.join();
+                int next = start + window;
+                pending = next < rooms.size() ? pool.submit(render(next, buffers[1 - turn])) : null;
+                StringBuilder[] rendered = buffers[turn];
+                for (int i = 0; i < Math.min(window, rooms.size() - start); i++) {
+                    emit(rendered[i], out);
+                }
+                turn = 1 - turn;
+            }
+        } finally {
+            if (pending != null) {
+                pending.quietlyJoin();
+            }
+        }
+    }
+
+    /**
+     * Method makes one window's worth of empty buffers.
+     * @return the buffers
+     */
+    private StringBuilder[] newBuffers() {
+        StringBuilder[] buffers = new StringBuilder[Math.min(window, rooms.size())];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new StringBuilder();
+        }
+        return buffers;
+    }
+
+    /**
+     * Method makes a task that renders one window of rooms into buffers.
+     * Each room renders into its own frame, so rooms can render side by side.
+     * @param start - index of the window's first room
+     * @param buffers - one buffer per room in the window
+     * @return the task
+     */
+    private ForkJoinRange render(int start, StringBuilder[] buffers) {
+        int end = Math.min(start + window, rooms.size());
+        return new ForkJoinRange(start, end, PIECE_SIZE, i -> {
+            StringBuilder buffer = buffers[i - start];
+            buffer.setLength(0);
+            rooms.get(i).appendRoom(buffer).append(ROOM_SEPARATOR);
+        });
+    }
+
+    /**
+     * Method writes a rendered room out.
+     * Writers are handed the characters directly instead of a new string.
+     * @param rendered - the rendered room
+     * @param out - where it is written
+     * @throws IOException in case out cannot be written to
+     */
+    private void emit(StringBuilder rendered, Appendable out) throws IOException {
+        if (out instanceof Writer) {
+            if (scratch.length < rendered.length()) {
+                scratch = new char[rendered.length()];
+            }
+            rendered.getChars(0, rendered.length(), scratch, 0);
+            ((Writer) out).write(scratch, 0, rendered.length());
+        } else {
+            out.append(rendered);
+        }
+    }
+}
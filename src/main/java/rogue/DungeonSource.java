@@ -0,0 +1,27 @@
+package rogue;
+
+import java.util.Map;
+
+/**
+ * Something a Rogue game can be built from: the symbols, then every room, then every item.
+ */
+public interface DungeonSource {
+
+    /**
+     * Get the map of symbols.
+     * @return Map<String, Character> Map of symbols
+     */
+    Map<String, Character> getSymbols();
+
+    /**
+     * Return the next room.
+     * @return (RoomSpec) Information about a room, or null once every room has been returned
+     */
+    RoomSpec nextRoomSpec();
+
+    /**
+     * Return the next item.
+     * @return (LootSpec) Information about an item, or null once every item has been returned
+     */
+    LootSpec nextLootSpec();
+}
@@ -0,0 +1,314 @@
+package rogue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * An immutable, flattened copy of a dungeon that any number of game sessions can share.
+ * Rooms are numbered by slot. Each slot keeps its size, the exit through each wall,
+ * the items lying in it and a pre-rendered frame of its floor, walls and doors.
+ * Nothing here changes after construction, so it is safe to read from any thread.
+ * The per-session overlay handed to appendRoom is not shared: each BitSet
+ * belongs to one GameSession and is only read under that session's lock.
+ */
+public final class DungeonTemplate {
+    /** Marks a wall without a usable door; the same value Room.renderBase reads as no door. */
+    static final int NO_EXIT = Room.NO_DOOR;
+    private static final int WALLS = Direction.values().length;
+
+    private final int[] roomIds;
+    private final int[] widths;
+    private final int[] heights;
+    private final int[] exitPositions;
+    private final int[] exitRooms;
+    private final int[] itemStart;
+    private final int[] itemIds;
+    private final int[] itemX;
+    private final int[] itemY;
+    private final String[] itemNames;
+    private final String[] itemTypes;
+    private final char[] itemGlyphs;
+    private final char[][] baseFrames;
+    private final char playerGlyph;
+    private final int startSlot;
+    private final ConnectivityReport connectivity;
+
+    /**
+     * Constructor that copies a freshly built game.
+     * Doors added while repairing the dungeon are part of the copy.
+     * @param game - a game that nobody has moved in yet
+     */
+    public DungeonTemplate(Rogue game) {
+        ArrayList<Room> rooms = game.getRooms();
+        IdentityHashMap<Room, Integer> slots = new IdentityHashMap<>(rooms.size() * 2);
+        for (int i = 0; i < rooms.size(); i++) {
+            slots.putIfAbsent(rooms.get(i), i);
+        }
+        roomIds = new int[rooms.size()];
+        widths = new int[rooms.size()];
+        heights = new int[rooms.size()];
+        exitPositions = new int[rooms.size() * WALLS];
+        exitRooms = new int[rooms.size() * WALLS];
+        baseFrames = new char[rooms.size()][];
+        Arrays.fill(exitPositions, NO_EXIT);
+        Arrays.fill(exitRooms, NO_EXIT);
+
+        SymbolPalette palette = rooms.isEmpty() ? new SymbolPalette(Collections.emptyMap())
+                : rooms.get(0).getPalette();
+        int start = 0;
+        int itemCount = 0;
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            roomIds[i] = room.getId();
+            widths[i] = room.getWidth();
+            heights[i] = room.getHeight();
+            copyExits(room, i, slots);
+            baseFrames[i] = renderBase(i, palette);
+            itemCount += room.getRoomItems().size();
+            if (room.getIsStartingRoom() && !rooms.get(start).getIsStartingRoom()) {
+                start = i;
+            }
+        }
+        startSlot = start;
+
+        itemStart = new int[rooms.size() + 1];
+        itemIds = new int[itemCount];
+        itemX = new int[itemCount];
+        itemY = new int[itemCount];
+        itemNames = new String[itemCount];
+        itemTypes = new String[itemCount];
+        itemGlyphs = new char[itemCount];
+        int next = 0;
+        for (int i = 0; i < rooms.size(); i++) {
+            itemStart[i] = next;
+            for (Item item : rooms.get(i).getRoomItems()) {
+                itemIds[next] = item.getId();
+                itemX[next] = item.getX();
+                itemY[next] = item.getY();
+                itemNames[next] = item.getName();
+                itemTypes[next] = item.getType();
+                itemGlyphs[next] = palette.glyph(palette.kindOfItem(item.getType()));
+                next++;
+            }
+        }
+        itemStart[rooms.size()] = next;
+        playerGlyph = palette.glyph(SymbolPalette.PLAYER);
+        connectivity = game.getConnectivityReport();
+    }
+
+    /**
+     * Builds a template straight from a dungeon description.
+     * @param source - where the symbols, rooms and items are read from
+     * @return the template
+     */
+    public static DungeonTemplate load(DungeonSource source) {
+        return new DungeonTemplate(new Rogue(source));
+    }
+
+    /**
+     * Method copies a room's doors into the exit table.
+     * A door whose far side is missing is drawn but leads nowhere.
+     * @param room - the room
+     * @param slot - slot of the room
+     * @param slots - slot of every room
+     */
+    private void copyExits(Room room, int slot, IdentityHashMap<Room, Integer> slots) {
+        for (Direction wall : Direction.values()) {
+            Door door = room.getDoor(wall);
+            if (door == null) {
+                continue;
+            }
+            exitPositions[slot * WALLS + wall.ordinal()] = door.getWallPosition();
+            Room other = door.getOtherRoom(room);
+            Integer otherSlot = other == null ? null : slots.get(other);
+            if (otherSlot != null) {
+                exitRooms[slot * WALLS + wall.ordinal()] = otherSlot;
+            }
+        }
+    }
+
+    /**
+     * Method renders a room's floor, walls and doors, the parts no session can change, the way Room does.
+     * @param slot - slot of the room
+     * @param palette - display characters by tile kind
+     * @return frame - rows of the room, each followed by a newline
+     */
+    private char[] renderBase(int slot, SymbolPalette palette) {
+        return Room.renderBase(widths[slot], heights[slot], palette,
+                Arrays.copyOfRange(exitPositions, slot * WALLS, (slot + 1) * WALLS));
+    }
+
+    /**
+     * Accessor method to retrieve the number of rooms.
+     * @return number of rooms
+     */
+    public int getNumOfRooms() {
+        return roomIds.length;
+    }
+
+    /**
+     * Accessor method to retrieve the number of items placed in the dungeon.
+     * @return number of items
+     */
+    public int getNumOfItems() {
+        return itemIds.length;
+    }
+
+    /**
+     * Accessor method to retrieve the slot of the starting room.
+     * @return startSlot
+     */
+    public int getStartSlot() {
+        return startSlot;
+    }
+
+    /**
+     * Accessor method to retrieve the connectivity of the dungeon the template was copied from.
+     * @return connectivity
+     */
+    public ConnectivityReport getConnectivityReport() {
+        return connectivity;
+    }
+
+    /**
+     * Accessor method to retrieve a room's id.
+     * @param slot - slot of the room
+     * @return the room's id
+     */
+    public int getRoomId(int slot) {
+        return roomIds[slot];
+    }
+
+    /**
+     * Accessor method to retrieve a room's width.
+     * @param slot - slot of the room
+     * @return the room's width
+     */
+    public int getWidth(int slot) {
+        return widths[slot];
+    }
+
+    /**
+     * Accessor method to retrieve a room's height.
+     * @param slot - slot of the room
+     * @return the room's height
+     */
+    public int getHeight(int slot) {
+        return heights[slot];
+    }
+
+    /**
+     * Accessor method to retrieve where the door in a wall is.
+     * @param slot - slot of the room
+     * @param wall - the wall
+     * @return the door's position along the wall, or NO_EXIT
+     */
+    int getExitPosition(int slot, Direction wall) {
+        return exitPositions[slot * WALLS + wall.ordinal()];
+    }
+
+    /**
+     * Accessor method to retrieve the room behind the door in a wall.
+     * @param slot - slot of the room
+     * @param wall - the wall
+     * @return slot of the room behind the door, or NO_EXIT
+     */
+    int getExitRoom(int slot, Direction wall) {
+        return exitRooms[slot * WALLS + wall.ordinal()];
+    }
+
+    /**
+     * Accessor method to retrieve the first item index of a room.
+     * A room's items run from this index up to the next room's first index.
+     * @param slot - slot of the room
+     * @return index of the room's first item
+     */
+    int getItemStart(int slot) {
+        return itemStart[slot];
+    }
+
+    /**
+     * Accessor method to retrieve an item's id.
+     * @param index - index of the item
+     * @return the item's id
+     */
+    public int getItemId(int index) {
+        return itemIds[index];
+    }
+
+    /**
+     * Accessor method to retrieve an item's column.
+     * @param index - index of the item
+     * @return the item's column
+     */
+    int getItemX(int index) {
+        return itemX[index];
+    }
+
+    /**
+     * Accessor method to retrieve an item's row.
+     * @param index - index of the item
+     * @return the item's row
+     */
+    int getItemY(int index) {
+        return itemY[index];
+    }
+
+    /**
+     * Accessor method to retrieve an item's name.
+     * @param index - index of the item
+     * @return the item's name
+     */
+    public String getItemName(int index) {
+        return itemNames[index];
+    }
+
+    /**
+     * Accessor method to retrieve an item's type.
+     * @param index - index of the item
+     * @return the item's type
+     */
+    public String getItemType(int index) {
+        return itemTypes[index];
+    }
+
+    /**
+     * Method appends a rendering of a room as one session sees it.
+     * The caller must keep picked from changing until the method returns.
+     * @param slot - slot of the room
+     * @param picked - indices of the items the session has picked up, by bit
+     * @param playerX - column of the player
+     * @param playerY - row of the player
+     * @param out - builder that receives the rendering
+     * @return out - the same builder, for chaining
+     */
+    StringBuilder appendRoom(int slot, BitSet picked, int playerX, int playerY, StringBuilder out) {
+        int stride = widths[slot] + 1;
+        int offset = out.length();
+        out.append(baseFrames[slot]);
+        for (int i = itemStart[slot]; i < itemStart[slot + 1]; i++) {
+            if (!picked.get(i)) {
+                out.setCharAt(offset + itemY[i] * stride + itemX[i], itemGlyphs[i]);
+            }
+        }
+        out.setCharAt(offset + playerY * stride + playerX, playerGlyph);
+        return out;
+    }
+
+    /**
+     * Method lists the ids of items by index.
+     * @param indices - indices of the items
+     * @return the ids, in index order
+     */
+    List<Integer> itemIdsOf(BitSet indices) {
+        List<Integer> ids = new ArrayList<>(indices.cardinality());
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            ids.add(itemIds[i]);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,97 @@
+package rogue;
+
+import java.util.Arrays;
+
+/**
+ * A RoomGraph kept as flat tables, with one entry per wall of every room.
+ * Entries are indexed by slot * 4 + Direction.ordinal(), as in DungeonTemplate.
+ * Used where the rooms themselves are not built, such as by LazyDungeon.
+ */
+final class ExitTable implements RoomGraph {
+    private static final int WALLS = Direction.values().length;
+    /** Position along the wall of the doors added by addDoors, as Rogue's repair places them. */
+    private static final int ADDED_DOOR_POSITION = 1;
+
+    private byte[] doorWalls;
+    private int[] exitPositions;
+    private int[] exitRooms;
+
+    /**
+     * Constructor for rooms without any doors yet.
+     * @param rooms - number of rooms
+     */
+    ExitTable(int rooms) {
+        doorWalls = new byte[rooms];
+        exitPositions = new int[rooms * WALLS];
+        exitRooms = new int[rooms * WALLS];
+        Arrays.fill(exitRooms, NO_ROOM);
+    }
+
+    /**
+     * Method puts a door in a room's wall.
+     * A later door in the same wall replaces an earlier one, as in Room.setDoor.
+     * @param slot - slot of the room
+     * @param wall - the wall
+     * @param position - position of the door along the wall
+     * @param other - slot of the room behind the door, or NO_ROOM
+     */
+    void setExit(int slot, Direction wall, int position, int other) {
+        doorWalls[slot] |= 1 << wall.ordinal();
+        exitPositions[slot * WALLS + wall.ordinal()] = position;
+        exitRooms[slot * WALLS + wall.ordinal()] = other;
+    }
+
+    /**
+     * Accessor method to retrieve where the door in a wall is.
+     * @param slot - slot of the room
+     * @param wall - the wall
+     * @return the door's position along the wall, meaningful only if the wall has a door
+     */
+    int getExitPosition(int slot, Direction wall) {
+        return exitPositions[slot * WALLS + wall.ordinal()];
+    }
+
+    @Override
+    public int getNumOfRooms() {
+        return doorWalls.length;
+    }
+
+    @Override
+    public boolean hasDoor(int slot, Direction wall) {
+        return (doorWalls[slot] & (1 << wall.ordinal())) != 0;
+    }
+
+    @Override
+    public int getExitRoom(int slot, Direction wall) {
+        return exitRooms[slot * WALLS + wall.ordinal()];
+    }
+
+    @Override
+    public boolean addDoors(int slotA, int slotB) {
+        if (slotA == slotB) {
+            return false;
+        }
+        Direction wallA = freeWall(slotA);
+        Direction wallB = freeWall(slotB);
+        if (wallA == null || wallB == null) {
+            return false;
+        }
+        setExit(slotA, wallA, ADDED_DOOR_POSITION, slotB);
+        setExit(slotB, wallB, ADDED_DOOR_POSITION, slotA);
+        return true;
+    }
+
+    /**
+     * Method finds the first wall of a room without a door.
+     * @param slot - slot of the room
+     * @return the wall, or null if every wall has a door
+     */
+    private Direction freeWall(int slot) {
+        for (Direction wall : Direction.values()) {
+            if (!hasDoor(slot, wall)) {
+                return wall;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package rogue;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Fork-join task that runs an action for every index of a range.
+ * The range is split in halves until pieces are small enough to run directly.
+ */
+public class ForkJoinRange extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final int DEFAULT_THRESHOLD = 256;
+
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final IntConsumer action;
+
+    /**
+     * Constructor for a range split into pieces of the default size.
+     * @param start - first index, inclusive
+     * @param end - last index, exclusive
+     * @param perIndex - action to run for each index
+     */
+    public ForkJoinRange(int start, int end, IntConsumer perIndex) {
+        this(start, end, DEFAULT_THRESHOLD, perIndex);
+    }
+
+    /**
+     * Constructor with all data provided.
+     * @param start - first index, inclusive
+     * @param end - last index, exclusive
+     * @param pieceSize - largest number of indices run without splitting
+     * @param perIndex - action to run for each index
+     */
+    public ForkJoinRange(int start, int end, int pieceSize, IntConsumer perIndex) {
+        from = start;
+        to = end;
+        threshold = Math.max(1, pieceSize);
+        action = perIndex;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new ForkJoinRange(from, middle, threshold, action),
+                new ForkJoinRange(middle, to, threshold, action));
+    }
+}
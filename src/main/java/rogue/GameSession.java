@@ -0,0 +1,190 @@
+package rogue;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * One player's game on a shared dungeon template.
+ * The session only stores what the player changes: where they are and which
+ * items they have picked up. Everything else is read from the template, so a
+ * session costs a few dozen bytes plus one bit per item picked up.
+ * A session must only be used by one thread at a time. Its methods are
+ * synchronized so it can be handed from one thread to the next, but the
+ * picked-item BitSet is not thread-safe, and a run of calls such as play then
+ * displayRoom only sees its own moves if the caller holds the session's lock
+ * throughout, as SessionHost.play does.
+ */
+public class GameSession {
+    private DungeonTemplate template;
+    private int id;
+    private int roomSlot;
+    private int playerX;
+    private int playerY;
+    private BitSet picked;
+    private long movesApplied;
+    private long invalidMoves;
+
+    /**
+     * Constructor that places a new player in the template's starting room.
+     * @param theTemplate - the shared dungeon
+     * @param sessionId - id of the session
+     */
+    public GameSession(DungeonTemplate theTemplate, int sessionId) {
+        template = theTemplate;
+        id = sessionId;
+        roomSlot = template.getStartSlot();
+        playerX = StepRule.START_X;
+        playerY = StepRule.START_Y;
+        picked = new BitSet();
+    }
+
+    /**
+     * Moves the player one step, following the same StepRule as Rogue.move.
+     * @param input - the move character
+     * @return false if the input character is not a movement key
+     */
+    public synchronized boolean move(char input) {
+        Direction wall = Direction.fromKey(input);
+        movesApplied++;
+        if (wall == null) {
+            invalidMoves++;
+            return false;
+        }
+        int x = StepRule.nextX(wall, playerX);
+        int y = StepRule.nextY(wall, playerY);
+        int next = template.getExitRoom(roomSlot, wall);
+        if (next != DungeonTemplate.NO_EXIT && StepRule.throughDoor(wall, x, y, template.getWidth(roomSlot),
+                template.getHeight(roomSlot), template.getExitPosition(roomSlot, wall))) {
+            roomSlot = next;
+            x = StepRule.START_X;
+            y = StepRule.START_Y;
+        }
+        if (!onWall(x, y)) {
+            playerX = x;
+            playerY = y;
+            pickUp(x, y);
+        }
+        return true;
+    }
+
+    /**
+     * Applies a stream of move characters.
+     * @param moves - the move characters, in order
+     * @return the number of characters that were not movement keys
+     */
+    public synchronized int play(CharSequence moves) {
+        int invalid = 0;
+        for (int i = 0; i < moves.length(); i++) {
+            if (!move(moves.charAt(i))) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Method checks if a tile is on the current room's walls.
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @return true if the tile is a wall tile
+     */
+    private boolean onWall(int x, int y) {
+        return StepRule.onWall(x, y, template.getWidth(roomSlot), template.getHeight(roomSlot));
+    }
+
+    /**
+     * Method picks up the first item still lying on a tile of the current room.
+     * @param x - column of the tile
+     * @param y - row of the tile
+     */
+    private void pickUp(int x, int y) {
+        int end = template.getItemStart(roomSlot + 1);
+        for (int i = template.getItemStart(roomSlot); i < end; i++) {
+            if (template.getItemX(i) == x && template.getItemY(i) == y && !picked.get(i)) {
+                picked.set(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method appends a rendering of the room the player is in.
+     * @param out - builder that receives the rendering
+     * @return out - the same builder, for chaining
+     */
+    public synchronized StringBuilder appendRoom(StringBuilder out) {
+        return template.appendRoom(roomSlot, picked, playerX, playerY, out);
+    }
+
+    /**
+     * Method renders the room the player is in.
+     * @return the rendering
+     */
+    public String displayRoom() {
+        return appendRoom(new StringBuilder()).toString();
+    }
+
+    /**
+     * Accessor method to retrieve the session's id.
+     * @return id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Accessor method to retrieve the id of the room the player is in.
+     * @return the room's id
+     */
+    public synchronized int getRoomId() {
+        return template.getRoomId(roomSlot);
+    }
+
+    /**
+     * Accessor method to retrieve the player's column.
+     * @return playerX
+     */
+    public synchronized int getPlayerX() {
+        return playerX;
+    }
+
+    /**
+     * Accessor method to retrieve the player's row.
+     * @return playerY
+     */
+    public synchronized int getPlayerY() {
+        return playerY;
+    }
+
+    /**
+     * Accessor method to retrieve the ids of the items picked up so far.
+     * @return the item ids, in dungeon order
+     */
+    public synchronized List<Integer> getPickedItemIds() {
+        return template.itemIdsOf(picked);
+    }
+
+    /**
+     * Accessor method to retrieve the number of items picked up so far.
+     * @return number of items
+     */
+    public synchronized int getItemsPicked() {
+        return picked.cardinality();
+    }
+
+    /**
+     * Accessor method to retrieve the number of move characters applied so far.
+     * @return movesApplied
+     */
+    public synchronized long getMovesApplied() {
+        return movesApplied;
+    }
+
+    /**
+     * Accessor method to retrieve the number of characters that were not movement keys.
+     * @return invalidMoves
+     */
+    public synchronized long getInvalidMoves() {
+        return invalidMoves;
+    }
+}
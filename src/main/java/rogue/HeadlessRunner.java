@@ -0,0 +1,179 @@
+package rogue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Drives a Rogue game without any user interface.
+ * Moves come from a script instead of the keyboard, and frames are only
+ * rendered when asked for, so bots and load tests run at full speed.
+ */
+public class HeadlessRunner {
+    private static final String RANDOM_PREFIX = "random:";
+    private static final char[] MOVE_KEYS = {Rogue.UP, Rogue.DOWN, Rogue.LEFT, Rogue.RIGHT};
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private Rogue game;
+    private long movesApplied;
+    private long invalidMoves;
+    private long framesRendered;
+    private long elapsedNanos;
+
+    /**
+     * Constructor that takes the game to drive.
+     * @param theGame - a game whose player has been set
+     */
+    public HeadlessRunner(Rogue theGame) {
+        game = theGame;
+    }
+
+    /**
+     * Applies a stream of move characters to the game.
+     * @param moves - the move characters, in order
+     * @param renderEvery - render a frame after every this many moves, or 0 to never render
+     * @param frames - receives each frame as it is rendered, such as a buffered writer;
+     *               may be null when renderEvery is 0
+     * @throws IOException in case frames cannot be written to
+     */
+    public void run(CharSequence moves, int renderEvery, Appendable frames) throws IOException {
+        long start = System.nanoTime();
+        int sinceFrame = 0;
+        StringBuilder frame = new StringBuilder();
+        try {
+            for (int i = 0; i < moves.length(); i++) {
+                if (!game.move(moves.charAt(i))) {
+                    invalidMoves++;
+                }
+                movesApplied++;
+                if (renderEvery > 0 && ++sinceFrame == renderEvery) {
+                    sinceFrame = 0;
+                    frame.setLength(0);
+                    game.getPlayer().getCurrentRoom().appendRoom(frame).append('\n');
+                    frames.append(frame);
+                    framesRendered++;
+                }
+            }
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Renders the room the player is in right now.
+     * @return the rendering
+     */
+    public String render() {
+        framesRendered++;
+        return game.getNextDisplay();
+    }
+
+    /**
+     * Accessor method to retrieve the game being driven.
+     * @return game
+     */
+    public Rogue getGame() {
+        return game;
+    }
+
+    /**
+     * Accessor method to retrieve the number of moves applied so far.
+     * @return movesApplied
+     */
+    public long getMovesApplied() {
+        return movesApplied;
+    }
+
+    /**
+     * Accessor method to retrieve the number of characters that were not movement keys.
+     * @return invalidMoves
+     */
+    public long getInvalidMoves() {
+        return invalidMoves;
+    }
+
+    /**
+     * Accessor method to retrieve the number of frames rendered so far.
+     * @return framesRendered
+     */
+    public long getFramesRendered() {
+        return framesRendered;
+    }
+
+    /**
+     * Accessor method to retrieve the move rate over every run so far.
+     * @return moves per second
+     */
+    public double getMovesPerSecond() {
+        return elapsedNanos == 0 ? 0 : movesApplied * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Generates a reproducible random walk.
+     * @param count - number of moves
+     * @param seed - random seed
+     * @return the move characters
+     */
+    public static String randomMoves(int count, long seed) {
+        Random random = new Random(seed);
+        char[] moves = new char[count];
+        for (int i = 0; i < count; i++) {
+            moves[i] = MOVE_KEYS[random.nextInt(MOVE_KEYS.length)];
+        }
+        return new String(moves);
+    }
+
+    /**
+     * Loads a dungeon from a file locations file, or from a compiled dungeon ending in .bin.
+     * @param filename - name of the dungeon file
+     * @return the dungeon
+     * @throws IOException in case a compiled dungeon cannot be read
+     */
+    public static DungeonSource load(String filename) throws IOException {
+        if (filename.endsWith(".bin")) {
+            return new BinaryDungeon(filename);
+        }
+        return new RogueParser(filename);
+    }
+
+    /**
+     * Runs a scripted game and reports the move rate.
+     *
+     * @param args dungeon file, then a file of recorded moves or random:COUNT,
+     *             then optionally how many moves to make between rendered frames
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: HeadlessRunner <fileLocations.json|dungeon.bin> <moves-file|random:COUNT>"
+                    + " [renderEvery]");
+            return;
+        }
+        try {
+            Rogue game = new Rogue(load(args[0]));
+            game.setPlayer(new Player("Headless"));
+
+            String moves;
+            if (args[1].startsWith(RANDOM_PREFIX)) {
+                moves = randomMoves(Integer.parseInt(args[1].substring(RANDOM_PREFIX.length())), 0L);
+            } else {
+                moves = new String(Files.readAllBytes(Paths.get(args[1])), StandardCharsets.UTF_8);
+            }
+            int renderEvery = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+            HeadlessRunner runner = new HeadlessRunner(game);
+            Writer frames = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            runner.run(moves, renderEvery, frames);
+            frames.flush();
+            System.out.printf("%d moves (%d invalid), %d frames, %.0f moves/s%n", runner.getMovesApplied(),
+                    runner.getInvalidMoves(), runner.getFramesRendered(), runner.getMovesPerSecond());
+            System.out.print(Metrics.dump(new StringBuilder()));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
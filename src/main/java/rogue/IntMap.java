@@ -0,0 +1,209 @@
+package rogue;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive int keys to objects.
+ * Uses open addressing with linear probing, so lookups never box the key.
+ * @param <V> - type of the stored values
+ */
+public class IntMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int HASH_MIX = 0x9E3779B9;
+    private static final int LOAD_FACTOR_SHIFT = 2;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Default constructor.
+     */
+    public IntMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor sizing the map for an expected number of entries.
+     * @param expected - number of entries the map should hold without growing
+     */
+    public IntMap(int expected) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity - (capacity >> LOAD_FACTOR_SHIFT) <= expected) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Accessor method to retrieve the number of entries.
+     * @return size - number of entries in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method checks if the map has no entries.
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Accessor method to retrieve the value stored for a key.
+     * @param key - key to look up
+     * @return the value, or null if the key is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Method checks if a key is present.
+     * @param key - key to look up
+     * @return true if the key has a value
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Mutator method to store a value for a key.
+     * @param key - key to store under
+     * @param value - value to store, must not be null
+     * @return the previous value, or null if the key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size > (mask + 1) - ((mask + 1) >> LOAD_FACTOR_SHIFT)) {
+            rehash((mask + 1) << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Mutator method to store a value only if the key is not present yet.
+     * @param key - key to store under
+     * @param value - value to store, must not be null
+     * @return the existing value, or null if the new value was stored
+     */
+    public V putIfAbsent(int key, V value) {
+        V existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    /**
+     * Mutator method to remove the value stored for a key.
+     * @param key - key to remove
+     * @return the removed value, or null if the key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V old = (V) values[slot];
+        values[slot] = null;
+        size--;
+
+        // Shift later entries of the probe chain back so lookups still find them
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                values[next] = null;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return old;
+    }
+
+    /**
+     * Mutator method to remove every entry.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Method locates the slot holding a key.
+     * @param key - key to look up
+     * @return slot index, or -1 if the key is not present
+     */
+    private int find(int key) {
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Method spreads the bits of a key so sequential ids do not cluster.
+     * @param key - key to hash
+     * @return the mixed hash
+     */
+    private static int hash(int key) {
+        int h = key * HASH_MIX;
+        return h ^ (h >>> (Integer.SIZE / 2));
+    }
+
+    /**
+     * Method allocates empty tables of the given capacity.
+     * @param capacity - new table capacity, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Method moves every entry into tables of a new capacity.
+     * @param capacity - new table capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
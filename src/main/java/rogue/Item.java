@@ -5,16 +5,22 @@ import java.awt.Point;
  * A basic Item class; basic functionality for both consumables and equipment.
  */
 public class Item {
+    /** Symbol kind of an item whose type has not been looked up in a palette yet. */
+    public static final int UNRESOLVED = -1;
+
     private int itemId;
     private String itemName;
     private String itemType;
-    private Point itemXYlocation;
+    private int itemX;
+    private int itemY;
+    private int symbolKind = UNRESOLVED;
+    private int roomSlot = -1;
+    private Room room;
 
     /**
      * Default item constructor.
      */
     public Item() {
-        itemXYlocation = new Point();
         itemId = 0;
         itemName = "";
         itemType = "";
@@ -29,10 +35,24 @@ public class Item {
      * @param xyLocation - x,y coordinates to represent item's location
      */
     public Item(int id, String name, String type, Point xyLocation) {
+        this(id, name, type, xyLocation.x, xyLocation.y);
+    }
+
+    /**
+     * Item constructor with the location given as coordinates.
+     *
+     * @param id - id of the item
+     * @param name  - name of the item
+     * @param type  - type of the item
+     * @param x - column of the item's location
+     * @param y - row of the item's location
+     */
+    public Item(int id, String name, String type, int x, int y) {
         itemId = id;
         itemName = name;
         itemType = type;
-        itemXYlocation = xyLocation;
+        itemX = x;
+        itemY = y;
     }
 
     /**
@@ -82,14 +102,36 @@ public class Item {
      */
     public void setType(String type) {
         itemType = type;
+        symbolKind = UNRESOLVED;
+        if (room != null) {
+            room.itemChanged(this);
+        }
+    }
+
+    /**
+     * Accessor method to retrieve the kind the item is drawn with.
+     * @return symbolKind - a kind in the palette of the room holding the item, or UNRESOLVED
+     */
+    public int getSymbolKind() {
+        return symbolKind;
+    }
+
+    /**
+     * Mutator method to set the kind the item is drawn with.
+     * Rooms set this when the item is added, so drawing never looks the type up by name.
+     * @param kind - a kind in the palette of the room holding the item
+     */
+    public void setSymbolKind(int kind) {
+        symbolKind = kind;
     }
 
     /**
      * Accessor method to retrieve item's xy coordinate location.
-     * @return itemXYlocation
+     * Kept for callers that work with points; rooms use getX and getY.
+     * @return a new point holding the item's location
      */
     public Point getXyLocation() {
-        return itemXYlocation;
+        return new Point(itemX, itemY);
     }
 
     /**
@@ -97,6 +139,65 @@ public class Item {
      * @param newXYlocation - represents the item's new xy coordinate location
      */
     public void setXyLocation(Point newXYlocation) {
-        itemXYlocation = newXYlocation;
+        setLocation(newXYlocation.x, newXYlocation.y);
+    }
+
+    /**
+     * Accessor method to retrieve the item's column.
+     * @return itemX
+     */
+    public int getX() {
+        return itemX;
+    }
+
+    /**
+     * Accessor method to retrieve the item's row.
+     * @return itemY
+     */
+    public int getY() {
+        return itemY;
+    }
+
+    /**
+     * Mutator method to set item's location without allocating.
+     * @param x - new column
+     * @param y - new row
+     */
+    public void setLocation(int x, int y) {
+        int oldX = itemX;
+        int oldY = itemY;
+        itemX = x;
+        itemY = y;
+        if (room != null) {
+            room.itemMoved(this, oldX, oldY);
+        }
+    }
+
+    /**
+     * Accessor method to retrieve where the item sits in its room's list of items.
+     * @return roomSlot - or -1 if the item has not been added to a room
+     */
+    int getRoomSlot() {
+        return roomSlot;
+    }
+
+    /**
+     * Accessor method to retrieve the room holding the item.
+     * @return room - or null if the item has not been added to a room
+     */
+    Room getRoom() {
+        return room;
+    }
+
+    /**
+     * Mutator method to record the room holding the item and where it sits in the room's list of items.
+     * Only rooms call this, so they can remove the item without searching for it
+     * and are told when the item changes.
+     * @param owner - the room holding the item, or null once it is removed
+     * @param slot - index of the item in the room's list
+     */
+    void setRoomSlot(Room owner, int slot) {
+        room = owner;
+        roomSlot = slot;
     }
 }
@@ -0,0 +1,183 @@
+package rogue;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Reads the elements of one top level array of a JSON file, one at a time.
+ * Only the element being returned is held in memory, so files of any size
+ * can be walked through in bounded memory.
+ */
+final class JsonArrayStream implements ContentHandler {
+    private String arrayKey;
+    private JSONParser parser = new JSONParser();
+    private Reader reader;
+    private Deque<Object> containers = new ArrayDeque<>();
+    private Deque<String> keys = new ArrayDeque<>();
+    private Object element;
+    private int depth;
+    private int arrayDepth;
+    private boolean keyMatched;
+    private boolean inArray;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * Constructor that opens the file to stream from.
+     * @param filename - name of the JSON file
+     * @param key - name of the top level array to walk through
+     * @throws FileNotFoundException in case the file cannot be opened
+     */
+    JsonArrayStream(String filename, String key) throws FileNotFoundException {
+        arrayKey = key;
+        reader = new BufferedReader(new FileReader(filename));
+    }
+
+    /**
+     * Reads the next element of the array.
+     * @return (Object) the element, a JSONObject for objects, or null once the array is exhausted
+     * @throws IOException in case the file cannot be read
+     * @throws ParseException in case the file is not valid JSON
+     */
+    Object next() throws IOException, ParseException {
+        element = null;
+        if (finished) {
+            return null;
+        }
+        try {
+            parser.parse(reader, this, started);
+            started = true;
+        } catch (IOException | ParseException e) {
+            close();
+            throw e;
+        }
+        if (element == null) {
+            close();
+        }
+        return element;
+    }
+
+    /**
+     * Stops streaming and releases the file.
+     */
+    void close() {
+        finished = true;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Method checks if the parser is inside an element of the array.
+     * @return true if values should be collected
+     */
+    private boolean building() {
+        return inArray && depth > arrayDepth;
+    }
+
+    /**
+     * Method hands a finished value to its parent, or returns it as the next element.
+     * @param value - the finished value
+     * @return false to pause the parser once an element is complete
+     */
+    @SuppressWarnings("unchecked")
+    private boolean deliver(Object value) {
+        if (containers.isEmpty()) {
+            element = value;
+            return false;
+        }
+        Object parent = containers.peek();
+        if (parent instanceof JSONObject) {
+            ((JSONObject) parent).put(keys.pop(), value);
+        } else {
+            ((JSONArray) parent).add(value);
+        }
+        return true;
+    }
+
+    @Override
+    public void startJSON() {
+        depth = 0;
+        inArray = false;
+        keyMatched = false;
+    }
+
+    @Override
+    public void endJSON() {
+    }
+
+    @Override
+    public boolean startObject() {
+        depth++;
+        if (building()) {
+            containers.push(new JSONObject());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endObject() {
+        boolean wasBuilding = building();
+        depth--;
+        return !wasBuilding || deliver(containers.pop());
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        if (building()) {
+            keys.push(key);
+        } else if (depth == 1) {
+            keyMatched = arrayKey.equals(key);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        return true;
+    }
+
+    @Override
+    public boolean startArray() {
+        depth++;
+        if (building()) {
+            containers.push(new JSONArray());
+        } else if (depth == 2 && keyMatched) {
+            inArray = true;
+            arrayDepth = depth;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        boolean wasBuilding = building();
+        if (inArray && depth == arrayDepth) {
+            inArray = false;
+            keyMatched = false;
+        }
+        depth--;
+        return !wasBuilding || deliver(containers.pop());
+    }
+
+    @Override
+    public boolean primitive(Object value) {
+        if (inArray && depth == arrayDepth) {
+            element = value;
+            return false;
+        }
+        return !building() || deliver(value);
+    }
+}
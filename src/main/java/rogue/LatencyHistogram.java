@@ -0,0 +1,142 @@
+package rogue;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how long an operation takes, in power-of-two nanosecond buckets.
+ * Recording is lock-free and allocation-free: each bucket is a LongAdder,
+ * which stripes updates across cells when threads contend. Percentiles are
+ * reported as the upper edge of the bucket they fall in.
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+    private static final int BUCKETS = Long.SIZE;
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+
+    private final String name;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor that names the operation being timed.
+     * @param operation - name of the operation
+     */
+    public LatencyHistogram(String operation) {
+        name = operation;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Accessor method to retrieve the name of the operation being timed.
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records one timing.
+     * @param nanos - how long the operation took
+     */
+    public void record(long nanos) {
+        long elapsed = Math.max(nanos, 0);
+        buckets[BUCKETS - 1 - Long.numberOfLeadingZeros(elapsed | 1)].increment();
+        total.add(elapsed);
+        max.accumulate(elapsed);
+    }
+
+    /**
+     * Records the time since a reading of System.nanoTime().
+     * @param startNanos - the reading taken when the operation began
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return percentile(P50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(P99);
+    }
+
+    /**
+     * Method finds the bucket a percentile falls in.
+     * @param fraction - the percentile, between 0 and 1
+     * @return the upper edge of the bucket, capped at the longest timing
+     */
+    public long percentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                long upper = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                return Math.min(upper, getMaxNanos());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Clears every timing recorded so far.
+     * Timings recorded while the reset runs may be partly kept.
+     */
+    @Override
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Method describes the timings in one line, in microseconds.
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return String.format("%-14s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus", name, getCount(),
+                getMeanNanos() / Metrics.NANOS_PER_MICRO, getP50Nanos() / Metrics.NANOS_PER_MICRO,
+                getP99Nanos() / Metrics.NANOS_PER_MICRO, getMaxNanos() / Metrics.NANOS_PER_MICRO);
+    }
+}
@@ -0,0 +1,47 @@
+package rogue;
+
+/**
+ * What a latency histogram shows over JMX. All times are in nanoseconds.
+ */
+public interface LatencyHistogramMBean {
+    /**
+     * Accessor method to retrieve the number of timings recorded.
+     * @return count
+     */
+    long getCount();
+
+    /**
+     * Accessor method to retrieve the sum of every timing recorded.
+     * @return total time
+     */
+    long getTotalNanos();
+
+    /**
+     * Accessor method to retrieve the mean timing.
+     * @return mean time, or 0 if nothing was recorded
+     */
+    double getMeanNanos();
+
+    /**
+     * Accessor method to retrieve the longest timing.
+     * @return longest time
+     */
+    long getMaxNanos();
+
+    /**
+     * Accessor method to retrieve the median timing.
+     * @return an upper bound on the median
+     */
+    long getP50Nanos();
+
+    /**
+     * Accessor method to retrieve the 99th percentile timing.
+     * @return an upper bound on the 99th percentile
+     */
+    long getP99Nanos();
+
+    /**
+     * Clears every timing recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,54 @@
+package rogue;
+
+import java.util.ArrayList;
+
+/**
+ * A door of a LazyDungeon room whose far side is looked up only when it is needed.
+ * Asking for the other room builds it if it is not loaded, so a room's
+ * neighbours cost nothing until something walks through the door.
+ */
+class LazyDoor extends Door {
+    private Room near;
+    private LazyDungeon dungeon;
+    private int farSlot;
+
+    /**
+     * Constructor with all data provided.
+     * @param direction - the wall the door is on
+     * @param position - position of the door along the wall
+     * @param nearRoom - the room the door is in
+     * @param theDungeon - the dungeon the rooms are loaded from
+     * @param otherSlot - slot of the room behind the door, or RoomGraph.NO_ROOM if it leads nowhere
+     */
+    LazyDoor(Direction direction, int position, Room nearRoom, LazyDungeon theDungeon, int otherSlot) {
+        super(direction, position);
+        near = nearRoom;
+        dungeon = theDungeon;
+        farSlot = otherSlot;
+    }
+
+    /**
+     * Get both rooms connected by this door, loading the far one if needed.
+     * @return a new list holding the door's room, then the room behind it or null
+     */
+    @Override
+    public ArrayList<Room> getConnectedRooms() {
+        ArrayList<Room> rooms = new ArrayList<>(2);
+        rooms.add(near);
+        rooms.add(getOtherRoom(near));
+        return rooms;
+    }
+
+    /**
+     * Get the connected room by passing in the current room, loading it if needed.
+     * @param currentRoom - one of the two rooms of the door
+     * @return the room on the other side, or null if the door leads nowhere
+     */
+    @Override
+    public Room getOtherRoom(Room currentRoom) {
+        if (currentRoom != near) {
+            return near;
+        }
+        return farSlot == RoomGraph.NO_ROOM ? null : dungeon.getRoom(farSlot);
+    }
+}
@@ -0,0 +1,425 @@
+package rogue;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A game whose rooms are only built when they are needed.
+ * Rooms are kept as the parsed descriptions read from the dungeon, plus a flat
+ * table of exits, until the player walks into them or something asks a door
+ * for the room behind it. At most a budget of rooms are loaded at once; when
+ * more are needed, the least recently used room is unloaded, remembering only
+ * which of its items have been picked up. The room the player is in always
+ * stays loaded. Memory then grows with the part of the dungeon being played,
+ * not with its size.
+ *
+ * Moves follow the same rules as Rogue.move, and rooms are joined by the same
+ * extra doors Rogue adds, so a lazy game plays and renders like an eager one.
+ * Items added to a loaded room by hand are not kept when the room is unloaded.
+ * Loading and unloading rooms changes shared state, so a lazy dungeon must
+ * only be used by one thread at a time.
+ */
+public class LazyDungeon {
+    /** Number of rooms kept loaded when no budget is given. */
+    public static final int DEFAULT_BUDGET = 256;
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private Map<String, Character> symbols;
+    private SymbolPalette palette;
+    private ArrayList<RoomSpec> specs = new ArrayList<>();
+    private IntMap<Integer> slotsById = new IntMap<>();
+    private ExitTable exits;
+    private LootSpec[] loot;
+    private int[] lootStart;
+    private BitSet taken = new BitSet();
+    private ConnectivityReport connectivity;
+
+    private int roomBudget;
+    private LinkedHashMap<Integer, Room> loaded;
+    private Room[] rooms;
+    private Item[][] roomLoot;
+    private int[] loadedVersions;
+    private long roomsBuilt;
+    private long roomsUnloaded;
+
+    private Player player = new Player();
+    private int currentSlot = RoomGraph.NO_ROOM;
+    private Room currentRoom;
+
+    /**
+     * Constructor that reads a dungeon with the default room budget.
+     * @param source - where the symbols, rooms and items are read from
+     */
+    public LazyDungeon(DungeonSource source) {
+        this(source, DEFAULT_BUDGET);
+    }
+
+    /**
+     * Constructor that reads a dungeon's descriptions without building any room.
+     * @param source - where the symbols, rooms and items are read from
+     * @param budget - most rooms to keep loaded at once, at least 1
+     */
+    public LazyDungeon(DungeonSource source, int budget) {
+        roomBudget = Math.max(1, budget);
+        loaded = new LinkedHashMap<>(Math.min(roomBudget, DEFAULT_BUDGET) * 2, LOAD_FACTOR, true);
+        symbols = source.getSymbols();
+        palette = new SymbolPalette(symbols);
+
+        long phase = System.nanoTime();
+        for (RoomSpec spec = source.nextRoomSpec(); spec != null; spec = source.nextRoomSpec()) {
+            slotsById.putIfAbsent(spec.getId(), specs.size());
+            specs.add(spec);
+        }
+        phase = Rogue.endPhase(Metrics.BUILD_ROOMS, phase);
+        readExits();
+        phase = Rogue.endPhase(Metrics.BUILD_DOORS, phase);
+        connectivity = new ConnectivityChecker(exits, startingSlot()).repair();
+        phase = Rogue.endPhase(Metrics.BUILD_VERIFY, phase);
+        readLoot(source);
+        Rogue.endPhase(Metrics.BUILD_ITEMS, phase);
+
+        rooms = new Room[specs.size()];
+        roomLoot = new Item[specs.size()][];
+        loadedVersions = new int[specs.size()];
+        if (!specs.isEmpty()) {
+            enter(startingSlot());
+            player.setCurrentRoom(currentRoom);
+        }
+    }
+
+    /**
+     * Method finds the slot of the first starting room.
+     * @return slot of the starting room, or of the first room if none is marked
+     */
+    private int startingSlot() {
+        for (int i = 0; i < specs.size(); i++) {
+            if (specs.get(i).isStart()) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Method fills the exit table from the rooms' doors.
+     */
+    private void readExits() {
+        exits = new ExitTable(specs.size());
+        for (RoomSpec spec : specs) {
+            int slot = slotsById.get(spec.getId());
+            for (DoorSpec door : spec.getDoors()) {
+                Direction wall = Direction.fromCode(door.getDirection());
+                if (wall != null) {
+                    Integer other = slotsById.get(door.getConnectedRoom());
+                    exits.setExit(slot, wall, door.getWallPosition(), other == null ? RoomGraph.NO_ROOM : other);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method groups every item description by the slot of its room, keeping their order.
+     * @param source - where the items are read from
+     */
+    private void readLoot(DungeonSource source) {
+        ArrayList<LootSpec> read = new ArrayList<>();
+        ArrayList<Integer> slots = new ArrayList<>();
+        lootStart = new int[specs.size() + 1];
+        for (LootSpec spec = source.nextLootSpec(); spec != null; spec = source.nextLootSpec()) {
+            Integer slot = slotsById.get(spec.getRoomId());
+            if (slot != null) {
+                read.add(spec);
+                slots.add(slot);
+                lootStart[slot + 1]++;
+            }
+        }
+        for (int i = 0; i < specs.size(); i++) {
+            lootStart[i + 1] += lootStart[i];
+        }
+        loot = new LootSpec[read.size()];
+        int[] fill = Arrays.copyOf(lootStart, specs.size());
+        for (int i = 0; i < read.size(); i++) {
+            loot[fill[slots.get(i)]++] = read.get(i);
+        }
+    }
+
+    /**
+     * Accessor method to retrieve a room, building it if it is not loaded.
+     * May unload the least recently used room other than the player's.
+     * @param slot - slot of the room, in dungeon file order
+     * @return the room
+     */
+    public Room getRoom(int slot) {
+        if (rooms[slot] != null) {
+            return loaded.get(slot);
+        }
+        Room room = build(slot);
+        rooms[slot] = room;
+        loaded.put(slot, room);
+        trim(slot);
+        return room;
+    }
+
+    /**
+     * Method builds a room from its description, leaving out the items already picked up.
+     * @param slot - slot of the room
+     * @return the room
+     */
+    private Room build(int slot) {
+        RoomSpec spec = specs.get(slot);
+        Room room = new Room();
+        room.setId(spec.getId());
+        room.setIsStartingRoom(spec.isStart());
+        room.setHeight(spec.getHeight());
+        room.setWidth(spec.getWidth());
+        room.setPlayer(player);
+        room.setSymbols(symbols, palette);
+        for (Direction wall : Direction.values()) {
+            if (exits.hasDoor(slot, wall)) {
+                room.setDoor(new LazyDoor(wall, exits.getExitPosition(slot, wall), room, this,
+                        exits.getExitRoom(slot, wall)));
+            }
+        }
+
+        Item[] made = new Item[lootStart[slot + 1] - lootStart[slot]];
+        for (int i = 0; i < made.length; i++) {
+            if (!taken.get(lootStart[slot] + i)) {
+                made[i] = Rogue.placeItem(loot[lootStart[slot] + i], room);
+                if (made[i] != null) {
+                    room.addItem(made[i]);
+                }
+            }
+        }
+        roomLoot[slot] = made;
+        loadedVersions[slot] = room.getVersion();
+        roomsBuilt++;
+        return room;
+    }
+
+    /**
+     * Method unloads rooms, least recently used first, until the budget is met.
+     * The player's room and the room just loaded are never unloaded.
+     * @param keep - slot of the room just loaded
+     */
+    private void trim(int keep) {
+        Iterator<Integer> eldest = loaded.keySet().iterator();
+        while (loaded.size() > roomBudget && eldest.hasNext()) {
+            int slot = eldest.next();
+            if (slot != keep && slot != currentSlot) {
+                eldest.remove();
+                unload(slot);
+            }
+        }
+    }
+
+    /**
+     * Method remembers which items of a room are gone, then forgets the room.
+     * Loaded rooms with a door into it rebuild their exits, so they do not keep the old copy.
+     * @param slot - slot of the room
+     */
+    private void unload(int slot) {
+        Room room = rooms[slot];
+        Item[] made = roomLoot[slot];
+        rooms[slot] = null;
+        roomLoot[slot] = null;
+        if (room.getVersion() != loadedVersions[slot]) {
+            Set<Item> left = Collections.newSetFromMap(new IdentityHashMap<>());
+            left.addAll(room.getRoomItems());
+            for (int i = 0; i < made.length; i++) {
+                if (made[i] != null && !left.contains(made[i])) {
+                    taken.set(lootStart[slot] + i);
+                }
+            }
+        }
+        for (int other : loaded.keySet()) {
+            for (Direction wall : Direction.values()) {
+                if (exits.getExitRoom(other, wall) == slot) {
+                    rooms[other].forgetExits();
+                }
+            }
+        }
+        roomsUnloaded++;
+    }
+
+    /**
+     * Method makes a room the current one, loading it if needed.
+     * @param slot - slot of the room
+     */
+    private void enter(int slot) {
+        currentRoom = getRoom(slot);
+        currentSlot = slot;
+    }
+
+    /**
+     * Mutator method to set the player's name and position, as Rogue.setPlayer does.
+     * @param thePlayer - game's player
+     */
+    public void setPlayer(Player thePlayer) {
+        player.setName(thePlayer.getName());
+        player.setXyLocation(thePlayer.getXyLocation());
+    }
+
+    /**
+     * Accessor method to retrieve the game's player.
+     * @return player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Moves the player one step, following the same StepRule as Rogue.move.
+     * Walking through a door loads the room behind it.
+     * @param input - the move character
+     * @return false if the input character is not a movement key
+     */
+    public boolean move(char input) {
+        Direction direction = Direction.fromKey(input);
+        if (direction == null) {
+            return false;
+        }
+        int x = StepRule.nextX(direction, player.getX());
+        int y = StepRule.nextY(direction, player.getY());
+        int next = exits.getExitRoom(currentSlot, direction);
+        if (next != RoomGraph.NO_ROOM && StepRule.throughDoor(direction, x, y, currentRoom.getWidth(),
+                currentRoom.getHeight(), exits.getExitPosition(currentSlot, direction))) {
+            enter(next);
+            x = StepRule.START_X;
+            y = StepRule.START_Y;
+        }
+        if (!StepRule.onWall(x, y, currentRoom.getWidth(), currentRoom.getHeight())) {
+            player.setLocation(x, y);
+            player.setCurrentRoom(currentRoom);
+            currentRoom.removeItemAt(x, y);
+        }
+        return true;
+    }
+
+    /**
+     * Generates current room string representation.
+     * @return string representation of the current room
+     */
+    public String getNextDisplay() {
+        return currentRoom.displayRoom();
+    }
+
+    /**
+     * Method streams the whole game display, room by room.
+     * Rooms are loaded one after another within the budget, so the whole
+     * dungeon is never in memory at once. Printing always runs on the calling
+     * thread, because loading a room is not safe to do from several threads.
+     * @param out - where the display is written, such as a buffered file writer
+     * @throws IOException in case out cannot be written to
+     */
+    public void displayAll(Appendable out) throws IOException {
+        new DungeonPrinter(new AbstractList<Room>() {
+            @Override
+            public Room get(int index) {
+                return getRoom(index);
+            }
+
+            @Override
+            public int size() {
+                return specs.size();
+            }
+        }).print(out);
+    }
+
+    /**
+     * Accessor method to retrieve the number of rooms in the dungeon.
+     * @return number of rooms, loaded or not
+     */
+    public int getNumOfRooms() {
+        return specs.size();
+    }
+
+    /**
+     * Accessor method to retrieve the room the player is in.
+     * @return currentRoom
+     */
+    public Room getCurrentRoom() {
+        return currentRoom;
+    }
+
+    /**
+     * Accessor method to retrieve the slots of the rooms loaded right now.
+     * @return a read only view, least recently used first
+     */
+    public Set<Integer> getLoadedSlots() {
+        return Collections.unmodifiableSet(loaded.keySet());
+    }
+
+    /**
+     * Accessor method to retrieve the most rooms kept loaded at once.
+     * @return roomBudget
+     */
+    public int getRoomBudget() {
+        return roomBudget;
+    }
+
+    /**
+     * Accessor method to retrieve how many times a room has been built.
+     * @return roomsBuilt - counting rooms built again after being unloaded
+     */
+    public long getRoomsBuilt() {
+        return roomsBuilt;
+    }
+
+    /**
+     * Accessor method to retrieve how many times a room has been unloaded.
+     * @return roomsUnloaded
+     */
+    public long getRoomsUnloaded() {
+        return roomsUnloaded;
+    }
+
+    /**
+     * Accessor method to retrieve the outcome of joining the rooms that could not be reached.
+     * @return report of disconnected rooms found, doors added and rooms left unreachable
+     */
+    public ConnectivityReport getConnectivityReport() {
+        return connectivity;
+    }
+
+    /**
+     * Reads a dungeon lazily, walks it at random and reports how much of it was built.
+     *
+     * @param args dungeon file, then optionally the number of moves and the room budget
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: LazyDungeon <fileLocations.json|dungeon.bin> [moves] [budget]");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            LazyDungeon game = new LazyDungeon(HeadlessRunner.load(args[0]),
+                    args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BUDGET);
+            long loadedAt = System.nanoTime();
+            game.getPlayer().setLocation(StepRule.START_X, StepRule.START_Y);
+            String moves = HeadlessRunner.randomMoves(args.length > 1 ? Integer.parseInt(args[1]) : 0, 0L);
+            for (int i = 0; i < moves.length(); i++) {
+                game.move(moves.charAt(i));
+            }
+            long end = System.nanoTime();
+            System.out.printf("%d rooms read in %.1f ms; %d moves at %.0f moves/s; %d rooms built, %d unloaded,"
+                    + " %d loaded%n", game.getNumOfRooms(), (loadedAt - start) / NANOS_PER_MILLI, moves.length(),
+                    moves.length() * NANOS_PER_SECOND / Math.max(1, end - loadedAt), game.getRoomsBuilt(),
+                    game.getRoomsUnloaded(), game.getLoadedSlots().size());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
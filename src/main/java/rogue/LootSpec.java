@@ -0,0 +1,110 @@
+package rogue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parsed description of an item lying in a room, as read from the dungeon file.
+ */
+public final class LootSpec {
+    private final int roomId;
+    private final int itemId;
+    private final int x;
+    private final int y;
+    private final String name;
+    private final String type;
+
+    /**
+     * Constructor with all data provided.
+     * @param room - id of the room the item is in
+     * @param id - id of the item in the item catalog
+     * @param itemX - x coordinate of the item
+     * @param itemY - y coordinate of the item
+     * @param itemName - name of the item, or null if the id is not in the catalog
+     * @param itemType - type of the item, or null if the id is not in the catalog
+     */
+    public LootSpec(int room, int id, int itemX, int itemY, String itemName, String itemType) {
+        roomId = room;
+        itemId = id;
+        x = itemX;
+        y = itemY;
+        name = itemName;
+        type = itemType;
+    }
+
+    /**
+     * Creates an item description from the map format RogueParser.nextItem() returns.
+     * @param loot - map of an item properties to read from
+     * @return the item description
+     */
+    public static LootSpec fromMap(Map<String, String> loot) {
+        return new LootSpec(Integer.parseInt(loot.get("room")), Integer.parseInt(loot.get("id")),
+                Integer.parseInt(loot.get("x")), Integer.parseInt(loot.get("y")),
+                loot.get("name"), loot.get("type"));
+    }
+
+    /**
+     * Converts the description to the map format RogueParser.nextItem() returns.
+     * @return (Map < String, String >) Contains information about the item, where it is and what room
+     */
+    public Map<String, String> toMap() {
+        HashMap<String, String> loot = new HashMap<>();
+        loot.put("room", Integer.toString(roomId));
+        loot.put("id", Integer.toString(itemId));
+        loot.put("x", Integer.toString(x));
+        loot.put("y", Integer.toString(y));
+        if (name != null) {
+            loot.put("name", name);
+            loot.put("type", type);
+        }
+        return loot;
+    }
+
+    /**
+     * Accessor method to retrieve the id of the room the item is in.
+     * @return roomId
+     */
+    public int getRoomId() {
+        return roomId;
+    }
+
+    /**
+     * Accessor method to retrieve the item's catalog id.
+     * @return itemId
+     */
+    public int getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Accessor method to retrieve the item's x coordinate.
+     * @return x
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Accessor method to retrieve the item's y coordinate.
+     * @return y
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Accessor method to retrieve the item's name.
+     * @return name, or null if the item is not in the catalog
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Accessor method to retrieve the item's type.
+     * @return type, or null if the item is not in the catalog
+     */
+    public String getType() {
+        return type;
+    }
+}
@@ -0,0 +1,104 @@
+package rogue;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The latency histograms the game records into, and ways to read them.
+ * Histograms can be published over JMX under the "rogue" domain and
+ * dumped as text on a schedule.
+ */
+public final class Metrics {
+    /** Nanoseconds in a microsecond, for reporting. */
+    static final double NANOS_PER_MICRO = 1e3;
+
+    /** Time RogueParser takes to read the dungeon files. */
+    public static final LatencyHistogram PARSE = new LatencyHistogram("parse");
+    /** Time Rogue takes to create its rooms. */
+    public static final LatencyHistogram BUILD_ROOMS = new LatencyHistogram("build.rooms");
+    /** Time Rogue takes to wire the doors between rooms. */
+    public static final LatencyHistogram BUILD_DOORS = new LatencyHistogram("build.doors");
+    /** Time Rogue takes to check and repair that every room can be reached. */
+    public static final LatencyHistogram BUILD_VERIFY = new LatencyHistogram("build.verify");
+    /** Time Rogue takes to place the loot. */
+    public static final LatencyHistogram BUILD_ITEMS = new LatencyHistogram("build.items");
+    /** Time Rogue.makeMove takes. */
+    public static final LatencyHistogram MOVE = new LatencyHistogram("move");
+    /** Time Room.displayRoom takes. */
+    public static final LatencyHistogram DISPLAY_ROOM = new LatencyHistogram("display.room");
+    /** Time WindowUI takes to draw a frame. */
+    public static final LatencyHistogram DRAW = new LatencyHistogram("draw");
+
+    private static final List<LatencyHistogram> ALL = Collections.unmodifiableList(Arrays.asList(
+            PARSE, BUILD_ROOMS, BUILD_DOORS, BUILD_VERIFY, BUILD_ITEMS, MOVE, DISPLAY_ROOM, DRAW));
+    private static final String DOMAIN = "rogue:type=Latency,name=";
+
+    /**
+     * Not constructed; everything is static.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Accessor method to retrieve every histogram.
+     * @return the histograms, in a fixed order
+     */
+    public static List<LatencyHistogram> all() {
+        return ALL;
+    }
+
+    /**
+     * Publishes every histogram on the platform MBean server.
+     * Histograms that are already published are left alone.
+     * @throws JMException in case the MBean server refuses a histogram
+     */
+    public static synchronized void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (LatencyHistogram histogram : ALL) {
+            try {
+                server.registerMBean(histogram, new ObjectName(DOMAIN + histogram.getName()));
+            } catch (InstanceAlreadyExistsException e) {
+                continue;
+            }
+        }
+    }
+
+    /**
+     * Method appends one line per histogram describing its timings.
+     * @param out - builder that receives the text
+     * @return out - the same builder, for chaining
+     */
+    public static StringBuilder dump(StringBuilder out) {
+        for (LatencyHistogram histogram : ALL) {
+            out.append(histogram).append('\n');
+        }
+        return out;
+    }
+
+    /**
+     * Starts printing the histograms on a schedule, from a background thread.
+     * @param period - time between dumps
+     * @param unit - unit of the period
+     * @param out - where the dumps are printed
+     * @return the scheduler; shut it down to stop dumping
+     */
+    public static ScheduledExecutorService startDump(long period, TimeUnit unit, PrintStream out) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "rogue-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.print(dump(new StringBuilder())), period, period, unit);
+        return scheduler;
+    }
+}
@@ -0,0 +1,178 @@
+package rogue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only record of every move made in a game, with periodic checkpoints.
+ * Each move takes one byte in the journal file. Every so many moves the
+ * journal is flushed and a full snapshot of the game is saved next to it,
+ * named after the number of moves it follows, so ReplayEngine can rebuild
+ * any point of the game from the nearest checkpoint.
+ *
+ * A journal file is laid out as int magic, int version, then one byte per move.
+ * The checkpoints of the journal are listed in its index file, one long move count
+ * each, appended once the checkpoint is saved. Only the checkpoints listed there
+ * are replayed from, so files left over from an earlier journal of the same name
+ * are never mistaken for this one's.
+ * Characters that are not movement keys are all recorded as NOT_A_MOVE, as
+ * they have the same effect on the game.
+ */
+public class MoveJournal implements Closeable {
+    /** Marks the start of a journal file ("RGJN"). */
+    public static final int MAGIC = 0x52474A4E;
+    /** Version of the layout written by this code. */
+    public static final int VERSION = 1;
+    /** Size of the journal header in bytes. */
+    public static final int HEADER_BYTES = 2 * Integer.BYTES;
+    /** Byte recorded for a character that is not a movement key. */
+    public static final byte NOT_A_MOVE = 0;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String INDEX_SUFFIX = ".checkpoints";
+    private static final String CHECKPOINT_SUFFIX = ".snap";
+
+    private String baseName;
+    private long checkpointEvery;
+    private long movesRecorded;
+    private FileChannel channel;
+    private FileChannel index;
+    private ByteBuffer indexEntry = ByteBuffer.allocate(Long.BYTES);
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private SnapshotWriter checkpoints;
+
+    /**
+     * Constructor that starts a new journal for a game and saves its first checkpoint.
+     * Any journal already under the same name is replaced.
+     * @param game - the game whose moves are recorded
+     * @param base - path and name the journal and checkpoint files start with
+     * @param movesPerCheckpoint - how many moves to record between checkpoints, or 0 for none after the first
+     * @throws IOException in case the files cannot be written
+     */
+    public MoveJournal(Rogue game, String base, long movesPerCheckpoint) throws IOException {
+        baseName = base;
+        checkpointEvery = movesPerCheckpoint;
+        checkpoints = new SnapshotWriter(game);
+        channel = FileChannel.open(Paths.get(journalFile(base)), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        index = FileChannel.open(Paths.get(indexFile(base)), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        checkpoint();
+    }
+
+    /**
+     * Method names the journal file of a base name.
+     * @param base - path and name the journal files start with
+     * @return name of the journal file
+     */
+    public static String journalFile(String base) {
+        return base + JOURNAL_SUFFIX;
+    }
+
+    /**
+     * Method names the file listing the checkpoints of a journal.
+     * @param base - path and name the journal files start with
+     * @return name of the index file
+     */
+    public static String indexFile(String base) {
+        return base + INDEX_SUFFIX;
+    }
+
+    /**
+     * Method names the checkpoint saved after a number of moves.
+     * @param base - path and name the journal files start with
+     * @param moves - number of moves the checkpoint follows
+     * @return name of the checkpoint file
+     */
+    public static String checkpointFile(String base, long moves) {
+        return base + "." + moves + CHECKPOINT_SUFFIX;
+    }
+
+    /**
+     * Records one move, after it has been applied to the game.
+     * Saves a checkpoint when one is due.
+     * @param input - the character the move was made with
+     */
+    public void record(char input) {
+        try {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            buffer.put(Direction.fromKey(input) == null ? NOT_A_MOVE : (byte) input);
+            movesRecorded++;
+            if (checkpointEvery > 0 && movesRecorded % checkpointEvery == 0) {
+                checkpoint();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Saves a full snapshot of the game as it stands after the moves recorded so far.
+     * The journal is flushed first, so the two always agree, and the checkpoint
+     * is only listed in the index once it has been saved.
+     * @throws IOException in case the files cannot be written
+     */
+    public void checkpoint() throws IOException {
+        flushBuffer();
+        checkpoints.writeFull(checkpointFile(baseName, movesRecorded));
+        indexEntry.clear();
+        indexEntry.putLong(movesRecorded).flip();
+        while (indexEntry.hasRemaining()) {
+            index.write(indexEntry);
+        }
+    }
+
+    /**
+     * Accessor method to retrieve the number of moves recorded.
+     * @return movesRecorded
+     */
+    public long getMovesRecorded() {
+        return movesRecorded;
+    }
+
+    /**
+     * Writes any buffered moves to the journal file.
+     * @throws IOException in case the file cannot be written
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * Flushes the journal and closes its file.
+     * @throws IOException in case the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                index.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     * @throws IOException in case the file cannot be written
+     */
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,126 @@
+package rogue;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of applying a sequence of moves in one call.
+ */
+public final class MoveSummary {
+    private static final long ROW_MASK = 0xFFFFFFFFL;
+
+    private final int movesApplied;
+    private final int invalidMoves;
+    private final int finalX;
+    private final int finalY;
+    private final int finalRoomId;
+    private final int roomsEntered;
+    private final int roomsVisited;
+    private final List<Item> itemsPicked;
+
+    /**
+     * Constructor with all data provided.
+     * @param moves - number of characters applied
+     * @param invalid - number of characters that were not movement keys
+     * @param end - the player's position after the last move, packed by position
+     * @param roomId - id of the room the player ended in
+     * @param entered - number of times the player went through a door
+     * @param visited - number of different rooms the player was in, including the first
+     * @param picked - items picked up, in the order they were picked up
+     */
+    public MoveSummary(int moves, int invalid, long end, int roomId, int entered, int visited, List<Item> picked) {
+        movesApplied = moves;
+        invalidMoves = invalid;
+        finalX = (int) (end >>> Integer.SIZE);
+        finalY = (int) end;
+        finalRoomId = roomId;
+        roomsEntered = entered;
+        roomsVisited = visited;
+        itemsPicked = Collections.unmodifiableList(picked);
+    }
+
+    /**
+     * Method packs a position into one long, so it can be passed without allocating.
+     * @param x - column of the position
+     * @param y - row of the position
+     * @return x in the high half and y in the low half
+     */
+    public static long position(int x, int y) {
+        return ((long) x << Integer.SIZE) | (y & ROW_MASK);
+    }
+
+    /**
+     * Accessor method to retrieve the number of characters applied.
+     * @return movesApplied
+     */
+    public int getMovesApplied() {
+        return movesApplied;
+    }
+
+    /**
+     * Accessor method to retrieve the number of characters that were not movement keys.
+     * @return invalidMoves
+     */
+    public int getInvalidMoves() {
+        return invalidMoves;
+    }
+
+    /**
+     * Accessor method to retrieve the player's column after the last move.
+     * @return finalX
+     */
+    public int getFinalX() {
+        return finalX;
+    }
+
+    /**
+     * Accessor method to retrieve the player's row after the last move.
+     * @return finalY
+     */
+    public int getFinalY() {
+        return finalY;
+    }
+
+    /**
+     * Accessor method to retrieve the id of the room the player ended in.
+     * @return finalRoomId
+     */
+    public int getFinalRoomId() {
+        return finalRoomId;
+    }
+
+    /**
+     * Accessor method to retrieve the number of times the player went through a door.
+     * @return roomsEntered
+     */
+    public int getRoomsEntered() {
+        return roomsEntered;
+    }
+
+    /**
+     * Accessor method to retrieve the number of different rooms the player was in.
+     * @return roomsVisited - at least 1, counting the room the moves started in
+     */
+    public int getRoomsVisited() {
+        return roomsVisited;
+    }
+
+    /**
+     * Accessor method to retrieve the items picked up.
+     * @return itemsPicked - in the order they were picked up
+     */
+    public List<Item> getItemsPicked() {
+        return itemsPicked;
+    }
+
+    /**
+     * Method describes the summary in one line.
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return movesApplied + " moves (" + invalidMoves + " invalid), ended in room " + finalRoomId
+                + " at " + finalX + "," + finalY + ", " + roomsVisited + " rooms visited, "
+                + itemsPicked.size() + " items picked up";
+    }
+}
@@ -6,7 +6,9 @@ import java.awt.Point;
  * A basic function to represent the player character.
  */
 public class Player {
-    private Point xyLocation;
+    private int xLocation;
+    private int yLocation;
+    private boolean placed;
     private Room currentRoom;
     private String name;
 
@@ -22,7 +24,7 @@ public class Player {
      */
     public Player(String playerName) {
         name = playerName;
-        xyLocation = new Point(1, 1);
+        setLocation(1, 1);
         currentRoom = null;
     }
 
@@ -44,18 +46,58 @@ public class Player {
 
     /**
      * Accessor method to retrieve player's location.
-     * @return xyLocation
+     * Kept for callers that work with points; the move path uses getX and getY.
+     * @return a new point holding the player's position, or null if the player has not been placed
      */
     public Point getXyLocation() {
-        return xyLocation;
+        return placed ? new Point(xLocation, yLocation) : null;
     }
 
     /**
      * Mutator method to set player's position.
-     * @param newXyLocation - new player's position
+     * @param newXyLocation - new player's position, or null to leave the player unplaced
      */
     public void setXyLocation(Point newXyLocation) {
-        xyLocation = newXyLocation;
+        if (newXyLocation == null) {
+            placed = false;
+        } else {
+            setLocation(newXyLocation.x, newXyLocation.y);
+        }
+    }
+
+    /**
+     * Accessor method to check whether the player has been given a position.
+     * @return placed - false until a position is set, or after it is cleared with setXyLocation(null)
+     */
+    public boolean isPlaced() {
+        return placed;
+    }
+
+    /**
+     * Accessor method to retrieve the player's column.
+     * @return xLocation
+     */
+    public int getX() {
+        return xLocation;
+    }
+
+    /**
+     * Accessor method to retrieve the player's row.
+     * @return yLocation
+     */
+    public int getY() {
+        return yLocation;
+    }
+
+    /**
+     * Mutator method to set player's position without allocating.
+     * @param x - new column
+     * @param y - new row
+     */
+    public void setLocation(int x, int y) {
+        xLocation = x;
+        yLocation = y;
+        placed = true;
     }
 
     /**
@@ -0,0 +1,168 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Rebuilds a game from a MoveJournal.
+ * The nearest checkpoint at or before the wanted move is restored, then the
+ * rest of the journal is applied straight to the game without rendering.
+ * A checkpoint that is missing or cannot be read is skipped for the one before it.
+ */
+public class ReplayEngine {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private String baseName;
+    private long checkpointUsed;
+    private long movesReplayed;
+    private long elapsedNanos;
+
+    /**
+     * Constructor that takes the journal to replay.
+     * @param base - path and name the journal and checkpoint files start with
+     */
+    public ReplayEngine(String base) {
+        baseName = base;
+    }
+
+    /**
+     * Replays the whole journal.
+     * @param game - a game freshly built from the dungeon the journal was recorded on
+     * @return the number of moves the game now reflects
+     * @throws IOException in case the journal or a checkpoint cannot be read
+     */
+    public long replay(Rogue game) throws IOException {
+        return replay(game, Long.MAX_VALUE);
+    }
+
+    /**
+     * Replays the journal up to a move.
+     * @param game - a game freshly built from the dungeon the journal was recorded on
+     * @param moves - number of moves to replay, counted from the start of the journal
+     * @return the number of moves the game now reflects, less than asked for if the journal is shorter
+     * @throws IOException in case the journal or a checkpoint cannot be read
+     */
+    public long replay(Rogue game, long moves) throws IOException {
+        long start = System.nanoTime();
+        MappedByteBuffer journal;
+        try (FileChannel channel = FileChannel.open(Paths.get(MoveJournal.journalFile(baseName)),
+                StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(MoveJournal.journalFile(baseName) + " is " + channel.size()
+                        + " bytes long; at most " + Integer.MAX_VALUE + " can be replayed");
+            }
+            journal = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (journal.limit() < MoveJournal.HEADER_BYTES || journal.getInt() != MoveJournal.MAGIC) {
+            throw new IOException("Not a move journal: " + MoveJournal.journalFile(baseName));
+        }
+        if (journal.getInt() != MoveJournal.VERSION) {
+            throw new IOException("Unsupported move journal version in " + MoveJournal.journalFile(baseName));
+        }
+
+        long target = Math.min(moves, journal.limit() - MoveJournal.HEADER_BYTES);
+        checkpointUsed = restoreCheckpoint(game, target);
+
+        // the journal fits in an int, so every move in it does too
+        journal.position(MoveJournal.HEADER_BYTES + (int) checkpointUsed);
+        for (long i = checkpointUsed; i < target; i++) {
+            game.move((char) journal.get());
+        }
+        movesReplayed = target - checkpointUsed;
+        elapsedNanos = System.nanoTime() - start;
+        return target;
+    }
+
+    /**
+     * Method restores the latest checkpoint taken at or before a move that can be read.
+     * Only the checkpoints listed in the journal's index are considered. A checkpoint
+     * that fails to restore leaves the game as it was, so the one before it is tried next.
+     * @param game - a game freshly built from the dungeon the journal was recorded on
+     * @param target - the move
+     * @return the number of moves the restored checkpoint follows
+     * @throws IOException in case the index cannot be read or no listed checkpoint can be restored
+     */
+    private long restoreCheckpoint(Rogue game, long target) throws IOException {
+        long[] listed = checkpoints();
+        IOException failure = new IOException("No checkpoint at or before move " + target + " for " + baseName);
+        for (int i = listed.length - 1; i >= 0; i--) {
+            if (listed[i] <= target && (i == listed.length - 1 || listed[i] != listed[i + 1])) {
+                try {
+                    SnapshotReader.restore(game, MoveJournal.checkpointFile(baseName, listed[i]));
+                    return listed[i];
+                } catch (IOException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Method reads the checkpoints listed in the journal's index.
+     * @return the number of moves each checkpoint follows, in ascending order
+     * @throws IOException in case the index cannot be read
+     */
+    private long[] checkpoints() throws IOException {
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(Paths.get(MoveJournal.indexFile(baseName))));
+        long[] listed = new long[index.remaining() / Long.BYTES];
+        for (int i = 0; i < listed.length; i++) {
+            listed[i] = index.getLong();
+        }
+        Arrays.sort(listed);
+        return listed;
+    }
+
+    /**
+     * Accessor method to retrieve the checkpoint the last replay started from.
+     * @return number of moves the checkpoint follows
+     */
+    public long getCheckpointUsed() {
+        return checkpointUsed;
+    }
+
+    /**
+     * Accessor method to retrieve the number of journal moves the last replay applied.
+     * @return movesReplayed - not counting the moves covered by the checkpoint
+     */
+    public long getMovesReplayed() {
+        return movesReplayed;
+    }
+
+    /**
+     * Accessor method to retrieve the move rate of the last replay, including restoring the checkpoint.
+     * @return moves per second
+     */
+    public double getMovesPerSecond() {
+        return elapsedNanos == 0 ? 0 : movesReplayed * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Replays a journal and reports where the player ended up.
+     *
+     * @param args dungeon file, journal base name, then optionally the number of moves to replay
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: ReplayEngine <fileLocations.json|dungeon.bin> <journal base> [moves]");
+            return;
+        }
+        try {
+            Rogue game = new Rogue(HeadlessRunner.load(args[0]));
+            ReplayEngine engine = new ReplayEngine(args[1]);
+            long reached = args.length > 2 ? engine.replay(game, Long.parseLong(args[2])) : engine.replay(game);
+            Player player = game.getPlayer();
+            System.out.printf("At move %d (checkpoint %d + %d replayed, %.0f moves/s): room %d at %d,%d%n", reached,
+                    engine.getCheckpointUsed(), engine.getMovesReplayed(), engine.getMovesPerSecond(),
+                    player.getCurrentRoom().getId(), player.getX(), player.getY());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
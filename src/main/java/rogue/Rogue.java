@@ -1,8 +1,14 @@
 package rogue;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import java.awt.Point;
 
@@ -16,18 +22,25 @@ public class Rogue {
     public static final char DOWN = 'j';
     public static final char LEFT = 'k';
     public static final char RIGHT = 'l';
-
-    private RogueParser parser;
+    /** Messages for each movement key, in Direction order. */
+    private static final String[] MOVE_MESSAGES = {
+        "That's a lovely move: " + UP,
+        "That's a lovely move: " + DOWN,
+        "That's a lovely move: " + LEFT,
+        "That's a lovely move: " + RIGHT,
+    };
+
+    private DungeonSource source;
     private ArrayList<Room> rooms = new ArrayList<>();
+    private RoomIndex roomIndex = new RoomIndex();
     private ArrayList<Item> items = new ArrayList<>();
     private Map<String, Character> symbols;
+    private SymbolPalette palette;
     private Player player = new Player();
     private Room currentRoom;
-    private int itemId;
-    private String itemName;
-    private String itemType;
-    private int width;
-    private int height;
+    private ConnectivityReport connectivity;
+    private int graphVersion;
+    private MoveJournal journal;
 
 
     /**
@@ -41,37 +54,160 @@ public class Rogue {
      * @param theDungeonInfo - the parser
      */
     public Rogue(RogueParser theDungeonInfo) {
+        this((DungeonSource) theDungeonInfo);
+    }
+
+    /**
+     * Constructor builds the game from typed room and item descriptions.
+     * @param theSource - where the symbols, rooms and items are read from
+     */
+    public Rogue(DungeonSource theSource) {
+
+        source = theSource;
+        symbols = theSource.getSymbols();
+        palette = new SymbolPalette(symbols);
+
+        long phase = System.nanoTime();
+        ArrayList<RoomSpec> roomSpecs = new ArrayList<>();
+        RoomSpec roomSpec = source.nextRoomSpec();
+        while (roomSpec != null) {
+            addRoom(roomSpec);
+            roomSpecs.add(roomSpec);
+            roomSpec = source.nextRoomSpec();
+        }
+        phase = endPhase(Metrics.BUILD_ROOMS, phase);
+        for (RoomSpec spec : roomSpecs) {
+            wireDoors(spec);
+        }
+        graphVersion++;
+        phase = endPhase(Metrics.BUILD_DOORS, phase);
+        verifyRooms();
+        phase = endPhase(Metrics.BUILD_VERIFY, phase);
+
+        LootSpec lootSpec = source.nextLootSpec();
+        while (lootSpec != null) {
+            Item item = createItem(lootSpec);
+            if (item != null) {
+                items.add(item);
+                findRoom(lootSpec.getRoomId()).addItem(item);
+            }
+            lootSpec = source.nextLootSpec();
+        }
+
+        chooseStartingRoom();
+        endPhase(Metrics.BUILD_ITEMS, phase);
+    }
 
-        parser = theDungeonInfo;
-        symbols = theDungeonInfo.getSymbols();
+    /**
+     * Constructor builds the game in parallel phases on a fork-join pool.
+     * Rooms are created concurrently, doors are wired concurrently per room,
+     * and loot is placed in per-room partitions. The result is identical to
+     * the sequential constructor, including the order of every list.
+     * @param theSource - where the symbols, rooms and items are read from
+     * @param pool - the pool to run the phases on
+     */
+    public Rogue(DungeonSource theSource, ForkJoinPool pool) {
+
+        source = theSource;
+        symbols = theSource.getSymbols();
+        palette = new SymbolPalette(symbols);
+
+        long phase = System.nanoTime();
+        ArrayList<RoomSpec> roomSpecs = new ArrayList<>();
+        for (RoomSpec spec = source.nextRoomSpec(); spec != null; spec = source.nextRoomSpec()) {
+            roomSpecs.add(spec);
+        }
+        ArrayList<LootSpec> lootSpecs = new ArrayList<>();
+        for (LootSpec spec = source.nextLootSpec(); spec != null; spec = source.nextLootSpec()) {
+            lootSpecs.add(spec);
+        }
 
-        Map roomInfo = parser.nextRoom();
-        while (roomInfo != null) {
-            addRoom(roomInfo);
-            roomInfo = parser.nextRoom();
+        Room[] built = new Room[roomSpecs.size()];
+        pool.invoke(new ForkJoinRange(0, built.length, i -> built[i] = createRoom(roomSpecs.get(i))));
+        boolean uniqueIds = true;
+        for (Room room : built) {
+            rooms.add(room);
+            uniqueIds &= roomIndex.add(room);
         }
-        parser.resetRoomIterator();
-        roomInfo = parser.nextRoom();
-        while (roomInfo != null) {
-            addDoors(roomInfo);
-            roomInfo = parser.nextRoom();
+        phase = endPhase(Metrics.BUILD_ROOMS, phase);
+
+        if (uniqueIds) {
+            // Each spec only touches its own room, so the rooms can be wired independently
+            pool.invoke(new ForkJoinRange(0, built.length, i -> wireDoors(roomSpecs.get(i))));
+        } else {
+            for (RoomSpec spec : roomSpecs) {
+                wireDoors(spec);
+            }
         }
+        graphVersion++;
+        phase = endPhase(Metrics.BUILD_DOORS, phase);
         verifyRooms();
+        phase = endPhase(Metrics.BUILD_VERIFY, phase);
 
-        Map itemInfo = parser.nextItem();
-        while (itemInfo != null) {
-            try {
-                addItem(itemInfo);
-            } catch (ImpossiblePositionException e) {
-                try {
-                    addItem(itemInfo, nextPosition(e.getPosition(), e.getRoom()));
-                } catch (ImpossiblePositionException | NoSuchItemException impossiblePositionException) {
-                }
-            } catch (NoSuchItemException e) {
+        placeItems(lootSpecs, pool);
+        chooseStartingRoom();
+        endPhase(Metrics.BUILD_ITEMS, phase);
+    }
+
+    /**
+     * Records how long a construction phase took.
+     * @param histogram - the phase's histogram
+     * @param phaseStart - System.nanoTime() when the phase began
+     * @return System.nanoTime() now, when the next phase begins
+     */
+    static long endPhase(LatencyHistogram histogram, long phaseStart) {
+        long now = System.nanoTime();
+        histogram.record(now - phaseStart);
+        return now;
+    }
+
+    /**
+     * Places loot on a fork-join pool.
+     * Items are created concurrently, then each room receives its own items
+     * in their original order.
+     * @param lootSpecs - descriptions of every item, in order
+     * @param pool - the pool to run on
+     */
+    private void placeItems(ArrayList<LootSpec> lootSpecs, ForkJoinPool pool) {
+        Item[] placed = new Item[lootSpecs.size()];
+        pool.invoke(new ForkJoinRange(0, placed.length, i -> placed[i] = createItem(lootSpecs.get(i))));
+
+        // Counting sort of the item indices by room, keeping their order within each room
+        IdentityHashMap<Room, Integer> slots = new IdentityHashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            slots.putIfAbsent(rooms.get(i), i);
+        }
+        int[] starts = new int[rooms.size() + 1];
+        int[] roomOf = new int[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            if (placed[i] != null) {
+                items.add(placed[i]);
+                roomOf[i] = slots.get(findRoom(lootSpecs.get(i).getRoomId()));
+                starts[roomOf[i] + 1]++;
             }
-            itemInfo = parser.nextItem();
         }
+        for (int r = 0; r < rooms.size(); r++) {
+            starts[r + 1] += starts[r];
+        }
+        int[] order = new int[items.size()];
+        int[] fill = starts.clone();
+        for (int i = 0; i < placed.length; i++) {
+            if (placed[i] != null) {
+                order[fill[roomOf[i]]++] = i;
+            }
+        }
+
+        pool.invoke(new ForkJoinRange(0, rooms.size(), r -> {
+            for (int k = starts[r]; k < starts[r + 1]; k++) {
+                rooms.get(r).addItem(placed[order[k]]);
+            }
+        }));
+    }
 
+    /**
+     * Puts the player in the first room marked as the starting room.
+     */
+    private void chooseStartingRoom() {
         for (Room room : rooms) {
             if (room.getIsStartingRoom()) {
                 currentRoom = room;
@@ -106,6 +242,27 @@ public class Rogue {
         return items;
     }
 
+    /**
+     * Puts the player on a tile of a room without picking anything up.
+     * Used when a saved game is restored.
+     * @param room - the room the player is in
+     * @param x - column of the player
+     * @param y - row of the player
+     */
+    public void placePlayer(Room room, int x, int y) {
+        currentRoom = room;
+        player.setCurrentRoom(room);
+        player.setLocation(x, y);
+    }
+
+    /**
+     * Starts or stops recording every move made in the game.
+     * @param theJournal - the journal moves are appended to, or null to stop recording
+     */
+    public void setJournal(MoveJournal theJournal) {
+        journal = theJournal;
+    }
+
     /**
      * Accessor method to retrieve Rogue game's player.
      * @return player
@@ -124,50 +281,121 @@ public class Rogue {
      * @throws InvalidMoveException - thrown if input character is not valid
      */
     public String makeMove(char input) throws InvalidMoveException {
-        Point playerLoc = player.getXyLocation();
-        int playerX = (int) playerLoc.getX();
-        int playerY = (int) playerLoc.getY();
-        if ((input != RIGHT) && (input != LEFT) && (input != UP) && (input != DOWN)) {
+        long start = System.nanoTime();
+        Direction direction = Direction.fromKey(input);
+        try {
+            if (direction != null) {
+                step(direction);
+            }
+        } finally {
+            Metrics.MOVE.recordSince(start);
+        }
+        if (journal != null) {
+            journal.record(input);
+        }
+        if (direction == null) {
             throw new InvalidMoveException();
         }
+        return MOVE_MESSAGES[direction.ordinal()];
+    }
 
-        if (input == UP) {
-            playerY -= 1;
-        } else if (input == DOWN) {
-            playerY += 1;
-        } else if (input == LEFT) {
-            playerX -= 1;
-        } else if (input == RIGHT) {
-            playerX += 1;
+    /**
+     * Moves the player one step without building a message.
+     * Used by makeMove and by callers that drive the game at high speed.
+     *
+     * @param input - last entered character by the user.
+     * @return false if the input character is not a movement key
+     */
+    public boolean move(char input) {
+        Direction direction = Direction.fromKey(input);
+        if (direction != null) {
+            step(direction);
         }
+        if (journal != null) {
+            journal.record(input);
+        }
+        return direction != null;
+    }
 
-        if (roomExceeded(playerX, playerY)) {
-            Door theDoor = findDoor(input, playerX, playerY);
+    /**
+     * Applies a whole sequence of moves in one call.
+     * Characters that are not movement keys are counted and skipped.
+     *
+     * @param moves - the move characters, in order
+     * @return summary of where the moves led
+     */
+    public MoveSummary makeMoves(char[] moves) {
+        return makeMoves(CharBuffer.wrap(moves));
+    }
 
-            if (theDoor != null) {
-                currentRoom = theDoor.getOtherRoom(currentRoom);
-                playerX = 1;
-                playerY = 1;
+    /**
+     * Applies a whole sequence of moves in one call.
+     * Characters that are not movement keys are counted and skipped.
+     *
+     * @param moves - the move characters, in order
+     * @return summary of where the moves led
+     */
+    public MoveSummary makeMoves(CharSequence moves) {
+        int invalid = 0;
+        int entered = 0;
+        ArrayList<Item> picked = new ArrayList<>();
+        Set<Room> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        visited.add(currentRoom);
+        for (int i = 0; i < moves.length(); i++) {
+            Direction direction = Direction.fromKey(moves.charAt(i));
+            if (direction == null) {
+                invalid++;
+            } else {
+                Room before = currentRoom;
+                Item item = step(direction);
+                if (item != null) {
+                    picked.add(item);
+                }
+                if (currentRoom != before) {
+                    entered++;
+                    visited.add(currentRoom);
+                }
+            }
+            if (journal != null) {
+                journal.record(moves.charAt(i));
             }
         }
-        if (!roomExceeded(playerX, playerY)) {
-            player.setXyLocation(new Point(playerX, playerY));
-            player.setCurrentRoom(currentRoom);
+        return new MoveSummary(moves.length(), invalid, MoveSummary.position(player.getX(), player.getY()),
+                currentRoom.getId(), entered, visited.size(), picked);
+    }
 
-            ArrayList<Item> currentRoomItems = currentRoom.getRoomItems();
-            Iterator<Item> itemIterator = currentRoomItems.iterator();
+    /**
+     * Moves the player one step towards a wall.
+     * @param direction - the wall to walk towards
+     * @return the item picked up on the way, or null
+     */
+    private Item step(Direction direction) {
+        int playerX = StepRule.nextX(direction, player.getX());
+        int playerY = StepRule.nextY(direction, player.getY());
 
-            while (itemIterator.hasNext()) {
-                Item item = itemIterator.next();
+        if (roomExceeded(playerX, playerY)) {
+            Room next = currentRoom.getExit(direction, direction.along(playerX, playerY));
 
-                if (item.getXyLocation().equals(player.getXyLocation())) {
-                    itemIterator.remove();
-                    break;
-                }
+            if (next != null) {
+                currentRoom = next;
+                playerX = StepRule.START_X;
+                playerY = StepRule.START_Y;
             }
-            currentRoom.setRoomItems(currentRoomItems);
         }
-        return "That's a lovely move: " + Character.toString(input);
+        if (!roomExceeded(playerX, playerY)) {
+            player.setLocation(playerX, playerY);
+            player.setCurrentRoom(currentRoom);
+            return currentRoom.removeItemAt(playerX, playerY);
+        }
+        return null;
+    }
+
+    /**
+     * Accessor method to retrieve the room getNextDisplay shows.
+     * @return currentRoom
+     */
+    public Room getCurrentRoom() {
+        return currentRoom;
     }
 
     /**
@@ -185,17 +413,39 @@ public class Rogue {
      * @param toAdd - map of a room properties to read from
      */
     public void addRoom(Map<String, String> toAdd) {
+        addRoom(RoomSpec.fromMap(toAdd));
+    }
+
+    /**
+     * Add a new room to the list of available rooms.
+     *
+     * @param toAdd - description of the room
+     */
+    public void addRoom(RoomSpec toAdd) {
+        Room room = createRoom(toAdd);
+
+        rooms.add(room);
+        roomIndex.add(room);
+    }
+
+    /**
+     * Creates a room from its description without adding it to the game.
+     *
+     * @param toAdd - description of the room
+     * @return the new room
+     */
+    private Room createRoom(RoomSpec toAdd) {
         Room room = new Room();
 
-        room.setId(Integer.parseInt(toAdd.get("id")));
-        room.setIsStartingRoom(Boolean.parseBoolean(toAdd.get("start")));
-        room.setHeight(Integer.parseInt(toAdd.get("height")));
-        room.setWidth(Integer.parseInt(toAdd.get("width")));
+        room.setId(toAdd.getId());
+        room.setIsStartingRoom(toAdd.isStart());
+        room.setHeight(toAdd.getHeight());
+        room.setWidth(toAdd.getWidth());
 
         room.setPlayer(player);
-        room.setSymbols(symbols);
+        room.setSymbols(symbols, palette);
 
-        rooms.add(room);
+        return room;
     }
 
     /**
@@ -204,20 +454,36 @@ public class Rogue {
      * @param toAdd - map of a room properties to read from
      */
     public void addDoors(Map<String, String> toAdd) {
-        Room room = findRoom(Integer.parseInt(toAdd.get("id")));
+        addDoors(RoomSpec.fromMap(toAdd));
+    }
+
+    /**
+     * Updates a room's information about available doors.
+     *
+     * @param toAdd - description of the room and its doors
+     */
+    public void addDoors(RoomSpec toAdd) {
+        wireDoors(toAdd);
+        graphVersion++;
+    }
 
-        String[] directions = {"N", "S", "W", "E"};
-        for (String dir : directions) {
-            int wallPosition = Integer.parseInt(toAdd.get(dir + "_wall_pos"));
+    /**
+     * Updates a room's doors without marking the door graph as changed.
+     * The constructors wire every room this way, in parallel when they can,
+     * and mark the graph changed once afterwards.
+     *
+     * @param toAdd - description of the room and its doors
+     */
+    private void wireDoors(RoomSpec toAdd) {
+        Room room = findRoom(toAdd.getId());
 
-            if (wallPosition != -1) {
-                Door newDoor = new Door(dir, wallPosition);
-                Room newRoom = findRoom(Integer.parseInt(toAdd.get(dir + "_con_room")));
+        for (DoorSpec spec : toAdd.getDoors()) {
+            Door newDoor = new Door(spec.getDirection(), spec.getWallPosition());
+            Room newRoom = findRoom(spec.getConnectedRoom());
 
-                newDoor.connectRoom(room);
-                newDoor.connectRoom(newRoom);
-                room.setDoor(newDoor);
-            }
+            newDoor.connectRoom(room);
+            newDoor.connectRoom(newRoom);
+            room.setDoor(newDoor);
         }
     }
 
@@ -230,40 +496,102 @@ public class Rogue {
     public void addItem(Map<String, String> toAdd) throws
             ImpossiblePositionException,
             NoSuchItemException {
+        if (toAdd.get("room") == null) {
+            throw new NoSuchItemException();
+        }
+        addItem(LootSpec.fromMap(toAdd));
+    }
+
+    /**
+     * Add an item to the list of available items and to the room it lies in.
+     * @param toAdd - description of the item
+     * @throws ImpossiblePositionException in case item position in room is invalid
+     * @throws NoSuchItemException         in case the item or its room is not part of the game
+     */
+    public void addItem(LootSpec toAdd) throws
+            ImpossiblePositionException,
+            NoSuchItemException {
         addItem(toAdd, null);
     }
 
      /**
      * Adding a new item to the list of available rooms using Inheritance.
-     * @param toAdd - map of an item properties to read from
-     * @param position
+     * @param toAdd - description of the item
+     * @param position - position to use instead of the described one, or null
      * @throws ImpossiblePositionException - in case item position in room is invalid
-     * @throws NoSuchItemException - in case item id is not present among the list of game items
+     * @throws NoSuchItemException - in case the item or its room is not part of the game
      */
-    private void addItem(Map<String, String> toAdd, Point position) throws
+    private void addItem(LootSpec toAdd, Point position) throws
     ImpossiblePositionException, NoSuchItemException {
-        itemId = Integer.parseInt(toAdd.get("id"));
-        itemName = toAdd.get("name");
-        itemType = toAdd.get("type");
+        Item item = createItem(toAdd, position);
+        items.add(item);
+        findRoom(toAdd.getRoomId()).addItem(item);
+    }
 
-        if (toAdd.get("room") == null) {
+    /**
+     * Creates an item from its description, moving it off the walls if needed.
+     * @param toAdd - description of the item
+     * @return the item, or null if it cannot be placed
+     */
+    private Item createItem(LootSpec toAdd) {
+        return placeItem(toAdd, findRoom(toAdd.getRoomId()));
+    }
+
+    /**
+     * Creates an item in a room from its description, moving it off the walls if needed.
+     * @param toAdd - description of the item
+     * @param room - the room the item lies in, or null if it is not part of the game
+     * @return the item, or null if it cannot be placed
+     */
+    static Item placeItem(LootSpec toAdd, Room room) {
+        try {
+            return createItem(toAdd, room, null);
+        } catch (ImpossiblePositionException e) {
+            try {
+                return createItem(toAdd, room, nextPosition(e.getPosition(), e.getRoom()));
+            } catch (ImpossiblePositionException | NoSuchItemException impossiblePositionException) {
+                return null;
+            }
+        } catch (NoSuchItemException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates an item from its description without adding it to the game.
+     * @param toAdd - description of the item
+     * @param position - position to use instead of the described one, or null
+     * @return the new item
+     * @throws ImpossiblePositionException - in case item position in room is invalid
+     * @throws NoSuchItemException - in case the item or its room is not part of the game
+     */
+    private Item createItem(LootSpec toAdd, Point position) throws
+    ImpossiblePositionException, NoSuchItemException {
+        return createItem(toAdd, findRoom(toAdd.getRoomId()), position);
+    }
+
+    /**
+     * Creates an item in a room from its description.
+     * @param toAdd - description of the item
+     * @param room - the room the item lies in, or null if it is not part of the game
+     * @param position - position to use instead of the described one, or null
+     * @return the new item
+     * @throws ImpossiblePositionException - in case item position in room is invalid
+     * @throws NoSuchItemException - in case the item or its room is not part of the game
+     */
+    private static Item createItem(LootSpec toAdd, Room room, Point position) throws
+    ImpossiblePositionException, NoSuchItemException {
+        if (toAdd.getType() == null || room == null) {
             throw new NoSuchItemException();
         }
-        int roomID = Integer.parseInt(toAdd.get("room"));
-        int x = position == null ? Integer.parseInt(toAdd.get("x")) : position.x;
-        int y = position == null ? Integer.parseInt(toAdd.get("y")) : position.y;
+        int x = position == null ? toAdd.getX() : position.x;
+        int y = position == null ? toAdd.getY() : position.y;
 
-        Room room = findRoom(roomID);
         if (roomExceeded(x, y, room)) {
             throw new ImpossiblePositionException(x, y, room);
         }
 
-        Item item = new Item(itemId, itemName, itemType, new Point(x, y));
-        items.add(item);
-
-        ArrayList<Item> roomItems = room.getRoomItems();
-        roomItems.add(item);
-        room.setRoomItems(roomItems);
+        return new Item(toAdd.getItemId(), toAdd.getName(), toAdd.getType(), x, y);
     }
 
     /**
@@ -272,7 +600,7 @@ public class Rogue {
      * @param y - Checking size of room through its height
      * @return roomExceeded - function that compares the room's height and width
      */
-    private Boolean roomExceeded(int x, int y) {
+    private boolean roomExceeded(int x, int y) {
         return roomExceeded(x, y, currentRoom);
     }
 
@@ -284,10 +612,8 @@ public class Rogue {
      *  @param room - Room object
      *  @return based on room case
      */
-    private Boolean roomExceeded(int x, int y, Room room) {
-        width = room.getWidth();
-        height = room.getHeight();
-        return (x == 0 || x == width - 1 || y == 0 || y == height - 1);
+    static boolean roomExceeded(int x, int y, Room room) {
+        return StepRule.onWall(x, y, room.getWidth(), room.getHeight());
     }
 
     /**
@@ -296,47 +622,7 @@ public class Rogue {
      * @return room or null - based on the room being found
      */
     private Room findRoom(int roomID) {
-        for (Room room : rooms) {
-            if (room.getId() == roomID) {
-                return room;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Method to find door in current room.
-     * @param input - User's prompted input/controls
-     * @param playerX - Player's x position in the current room
-     * @param playerY - Player's y position in the current room
-     * @return theDoor - the current door
-     */
-    private Door findDoor(char input, int playerX, int playerY) {
-        Door theDoor = null;
-
-        if (input == UP) {
-            Door door = currentRoom.getDoor("N");
-            if (door != null && door.getWallPosition() == playerX) {
-                theDoor = door;
-            }
-        } else if (input == DOWN) {
-            Door door = currentRoom.getDoor("S");
-            if ((door != null) && (door.getWallPosition() == playerX)) {
-                theDoor = door;
-            }
-        } else if (input == LEFT) {
-            Door door = currentRoom.getDoor("W");
-            if ((door != null) && (door.getWallPosition() == playerY)) {
-                theDoor = door;
-            }
-        } else if (input == RIGHT) {
-            Door door = currentRoom.getDoor("E");
-            if ((door != null) && (door.getWallPosition() == playerY)) {
-                theDoor = door;
-            }
-        }
-
-        return theDoor;
+        return roomIndex.get(roomID);
     }
 
     /**
@@ -345,7 +631,7 @@ public class Rogue {
      * @param room
      * @return nextPos - the room's next position
      */
-    private Point nextPosition(Point position, Room room) {
+    private static Point nextPosition(Point position, Room room) {
         Point nextPos = new Point(position.x, position.y);
 
         if (position.x <= 0) {
@@ -364,28 +650,29 @@ public class Rogue {
     }
 
     /**
-     * Verifies the room has at least one door.
+     * Verifies every room can be reached, adding doors to join any rooms that cannot.
+     * The outcome is kept as the connectivity report.
      */
     private void verifyRooms() {
-        for (Room room : rooms) {
-            try {
-                room.verifyRoom();
-            } catch (NotEnoughDoorsException e) {
-                boolean corrected = false;
-
-                for (Room otherRoom : rooms) {
-                    if (createDoor(room, otherRoom)) {
-                        corrected = true;
-                        break;
-                    }
-                }
+        RoomListGraph graph = new RoomListGraph(rooms, this::createDoor);
+        connectivity = new ConnectivityChecker(graph, graph.getStartSlot()).repair();
+    }
 
-                if (!corrected) {
-                    System.out.println("The dungeon file cannot be used as itemIterator contains invalid room");
-                    System.exit(0);
-                }
-            }
-        }
+    /**
+     * Accessor method to retrieve the outcome of verifying the rooms.
+     * @return report of disconnected rooms found, doors added and rooms left unreachable
+     */
+    public ConnectivityReport getConnectivityReport() {
+        return connectivity;
+    }
+
+    /**
+     * Accessor method to retrieve a counter that changes whenever doors are added.
+     * Lets route finders know when their view of the door graph is stale.
+     * @return graphVersion
+     */
+    public int getGraphVersion() {
+        return graphVersion;
     }
 
     /**
@@ -399,24 +686,22 @@ public class Rogue {
             return false;
         }
 
-        String[] direction = {"N", "S", "W", "E"};
-        if ((roomA.getDoors().size()) >= (direction.length) || (roomB.getDoors().size()) >= (direction.length)) {
+        Direction doorADir = locateMissingDoor(roomA);
+        Direction doorBDir = locateMissingDoor(roomB);
+        if (doorADir == null || doorBDir == null) {
             return false;
         }
 
-        String doorADir = locateMissingDoor(roomA);
-
         Door door1 = new Door(doorADir, 1);
         door1.connectRoom(roomA);
         door1.connectRoom(roomB);
         roomA.setDoor(door1);
 
-        String doorBDir = locateMissingDoor(roomB);
-
         Door door2 = new Door(doorBDir, 1);
         door2.connectRoom(roomA);
         door2.connectRoom(roomB);
         roomB.setDoor(door2);
+        graphVersion++;
 
         return true;
     }
@@ -424,27 +709,15 @@ public class Rogue {
     /**
      * Method locates missing doors in a room.
      * @param room -Room object
-     * @return doorDir - location of missing door
-     */
-    private String locateMissingDoor(Room room) {
-        Boolean found;
-        String[] direction = {"N", "S", "W", "E"};
-
-        String doorDir = null;
-        for (String dir : direction) {
-            found = false;
-            for (Door door : room.getDoors()) {
-                if (dir.equals(door.getDirection())) {
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
-                doorDir = dir;
-                break;
+     * @return doorDir - location of missing door, or null if every wall has a door
+     */
+    private Direction locateMissingDoor(Room room) {
+        for (Direction dir : Direction.values()) {
+            if (room.getDoor(dir) == null) {
+                return dir;
             }
         }
-        return doorDir;
+        return null;
     }
 
     /**
@@ -452,12 +725,33 @@ public class Rogue {
      * @return add - String representing entire game display
      */
     public String displayAll() {
-        String add = "";
-
-        for (Room room : rooms) {
-            add = add.concat(room.displayRoom());
-            add = add.concat("\n\n");
+        StringBuilder add = new StringBuilder();
+        try {
+            displayAll(add);
+        } catch (IOException e) {
+            // appending to a StringBuilder cannot fail
+            throw new UncheckedIOException(e);
         }
-        return add;
+        return add.toString();
+    }
+
+    /**
+     * Method streams the whole game display, room by room, without building it in memory.
+     * @param out - where the display is written, such as a buffered file writer
+     * @throws IOException in case out cannot be written to
+     */
+    public void displayAll(Appendable out) throws IOException {
+        new DungeonPrinter(rooms).print(out);
+    }
+
+    /**
+     * Method streams the whole game display, rendering rooms in parallel on a pool.
+     * The output is the same as the single-threaded version.
+     * @param out - where the display is written, such as a buffered file writer
+     * @param pool - the pool to render on
+     * @throws IOException in case out cannot be written to
+     */
+    public void displayAll(Appendable out, ForkJoinPool pool) throws IOException {
+        new DungeonPrinter(rooms).print(out, pool);
     }
 }
@@ -2,8 +2,11 @@ package rogue;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Iterator;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
@@ -12,15 +15,23 @@ import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
-public class RogueParser {
+public class RogueParser implements DungeonSource {
 
-    private ArrayList<Map<String, String>> rooms = new ArrayList<>();
-    private ArrayList<Map<String, String>> items = new ArrayList<>();
-    private ArrayList<Map<String, String>> itemLocations = new ArrayList<>();
+    private ArrayList<RoomSpec> rooms = new ArrayList<>();
+    private ArrayList<LootSpec> itemLocations = new ArrayList<>();
+    private IntMap<Map<String, String>> itemCatalog = new IntMap<>();
+    private CompletableFuture<Void> catalogLoaded = CompletableFuture.completedFuture(null);
     private HashMap<String, Character> symbols = new HashMap<>();
 
-    private Iterator<Map<String, String>> roomIterator;
-    private Iterator<Map<String, String>> itemIterator;
+    private Iterator<RoomSpec> roomIterator = Collections.emptyIterator();
+    private Iterator<LootSpec> itemIterator = Collections.emptyIterator();
+
+    private boolean streaming;
+    private boolean countingRooms = true;
+    private String roomsFileLocation;
+    private JsonArrayStream roomStream;
+    private JsonArrayStream lootStream;
+    private ArrayList<LootSpec> pendingLoot = new ArrayList<>();
 
     private int numOfRooms = -1;
     private int numOfItems = -1;
@@ -38,6 +49,20 @@ public class RogueParser {
      */
     public RogueParser(String filename) {
 
+        this(filename, false);
+    }
+
+    /**
+     * Constructor that takes filename and sets up the object, optionally in streaming mode.
+     * In streaming mode rooms and loot are read from the rooms file as they are
+     * asked for instead of being loaded up front, so only the item catalog and
+     * the current room are held in memory.
+     * @param filename (String) name of file that contains file location for rooms and symbols
+     * @param streamRooms (boolean) true to read rooms and loot incrementally
+     */
+    public RogueParser(String filename, boolean streamRooms) {
+
+        streaming = streamRooms;
         parse(filename);
     }
 
@@ -47,6 +72,28 @@ public class RogueParser {
      */
     public Map nextRoom() {
 
+        RoomSpec room = nextRoomSpec();
+        return room == null ? null : room.toMap();
+    }
+
+    /**
+     * Return the next room.
+     * @return (RoomSpec) Information about a room
+     */
+    @Override
+    public RoomSpec nextRoomSpec() {
+
+        if (streaming) {
+            JSONObject roomJSON = (JSONObject) streamNext(roomStream);
+            if (roomJSON == null) {
+                countingRooms = false;
+                return null;
+            }
+            if (countingRooms) {
+                numOfRooms += 1;
+            }
+            return singleRoom(roomJSON);
+        }
         if (roomIterator.hasNext()) {
             return roomIterator.next();
         } else {
@@ -58,6 +105,14 @@ public class RogueParser {
      * Reset the room iterator.
      */
     public void resetRoomIterator() {
+        if (streaming) {
+            countingRooms = false;
+            if (roomStream != null) {
+                roomStream.close();
+            }
+            roomStream = openStream("room");
+            return;
+        }
         roomIterator = rooms.iterator();
     }
 
@@ -68,6 +123,31 @@ public class RogueParser {
      */
     public Map nextItem() {
 
+        LootSpec loot = nextLootSpec();
+        return loot == null ? null : loot.toMap();
+    }
+
+    /**
+     * Returns the next item.
+     *
+     * @return (LootSpec) Information about an item
+     */
+    @Override
+    public LootSpec nextLootSpec() {
+
+        if (streaming) {
+            catalogLoaded.join();
+            while (!itemIterator.hasNext()) {
+                JSONObject roomJSON = (JSONObject) streamNext(lootStream);
+                if (roomJSON == null) {
+                    return null;
+                }
+                pendingLoot.clear();
+                roomLoot(roomJSON, pendingLoot);
+                itemIterator = pendingLoot.iterator();
+            }
+            return itemIterator.next();
+        }
         if (itemIterator.hasNext()) {
             return itemIterator.next();
         } else {
@@ -76,6 +156,14 @@ public class RogueParser {
 
     }
 
+    /**
+     * Check if rooms and loot are read incrementally.
+     * @return (boolean) true if the parser is in streaming mode
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
     /**
      * Get the character for a symbol.
      * @param symbolName (String) Symbol Name
@@ -93,6 +181,7 @@ public class RogueParser {
      * Get the map of symbols.
      * @return Map<String, Character> Map of symbols
      */
+    @Override
     public Map<String, Character> getSymbols() {
         return symbols;
     }
@@ -104,6 +193,7 @@ public class RogueParser {
      */
     public int getNumOfItems() {
 
+        catalogLoaded.join();
         return numOfItems;
     }
 
@@ -124,8 +214,8 @@ public class RogueParser {
      */
     private void parse(String filename) {
 
+        long start = System.nanoTime();
         JSONParser parser = new JSONParser();
-        JSONObject roomsJSON;
         JSONObject symbolsJSON;
 
         try {
@@ -133,24 +223,30 @@ public class RogueParser {
             JSONObject configurationJSON = (JSONObject) obj;
 
             // Extract the Rooms value from the file to get the file location for rooms
-            String roomsFileLocation = (String) configurationJSON.get("Rooms");
+            roomsFileLocation = (String) configurationJSON.get("Rooms");
 
             // Extract the Symbols value from the file to get the file location for symbols-map
             String symbolsFileLocation = (String) configurationJSON.get("Symbols");
 
-            Object roomsObj = parser.parse(new FileReader(roomsFileLocation));
-            roomsJSON = (JSONObject) roomsObj;
-
             Object symbolsObj = parser.parse(new FileReader(symbolsFileLocation));
             symbolsJSON = (JSONObject) symbolsObj;
 
+            if (streaming) {
+                prepareStreams();
+            } else {
+                Object roomsObj = parser.parse(new FileReader(roomsFileLocation));
+                JSONObject roomsJSON = (JSONObject) roomsObj;
 
-            extractItemInfo(roomsJSON);
-            extractRoomInfo(roomsJSON);
-            extractSymbolInfo(symbolsJSON);
+                // The catalog is only needed for the loot, so read it alongside the rooms
+                CompletableFuture<Void> catalog = CompletableFuture.runAsync(() -> extractItemInfo(roomsJSON));
+                extractRoomInfo(roomsJSON);
+                catalog.join();
+                extractLootInfo(roomsJSON);
 
-            roomIterator = rooms.iterator();
-            itemIterator = itemLocations.iterator();
+                roomIterator = rooms.iterator();
+                itemIterator = itemLocations.iterator();
+            }
+            extractSymbolInfo(symbolsJSON);
 
         } catch (FileNotFoundException e) {
             System.out.println("Cannot find file named: " + filename);
@@ -159,7 +255,65 @@ public class RogueParser {
         } catch (ParseException e) {
             System.out.println("Error parsing JSON file");
         }
+        Metrics.PARSE.recordSince(start);
+    }
 
+    /**
+     * Start reading the item catalog in the background and open the room and loot streams.
+     *
+     * @throws FileNotFoundException in case the rooms file cannot be opened
+     */
+    private void prepareStreams() throws FileNotFoundException {
+
+        JsonArrayStream catalog = new JsonArrayStream(roomsFileLocation, "items");
+        catalogLoaded = CompletableFuture.runAsync(() -> {
+            Object itemJSON = streamNext(catalog);
+            while (itemJSON != null) {
+                addCatalogItem(singleItem((JSONObject) itemJSON));
+                itemJSON = streamNext(catalog);
+            }
+        });
+
+        roomStream = openStream("room");
+        lootStream = openStream("room");
+        itemIterator = pendingLoot.iterator();
+    }
+
+    /**
+     * Open a stream over one of the arrays in the rooms file.
+     *
+     * @param key (String) Name of the array
+     * @return (JsonArrayStream) The stream, or null if the file cannot be opened
+     */
+    private JsonArrayStream openStream(String key) {
+
+        try {
+            return new JsonArrayStream(roomsFileLocation, key);
+        } catch (FileNotFoundException e) {
+            System.out.println("Cannot find file named: " + roomsFileLocation);
+            return null;
+        }
+    }
+
+    /**
+     * Read the next element from a stream.
+     *
+     * @param stream (JsonArrayStream) The stream to read from
+     * @return (Object) The element, or null once the stream is exhausted or fails
+     */
+    private Object streamNext(JsonArrayStream stream) {
+
+        if (stream == null) {
+            return null;
+        }
+        try {
+            return stream.next();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (ParseException e) {
+            System.out.println("Error parsing JSON file");
+        }
+        return null;
     }
 
     /**
@@ -189,80 +343,91 @@ public class RogueParser {
 
         JSONArray roomsJSONArray = (JSONArray) roomsJSON.get("room");
 
-        // Make an array list of room information as maps
+        // Make an array list of room descriptions
         for (int i = 0; i < roomsJSONArray.size(); i++) {
             rooms.add(singleRoom((JSONObject) roomsJSONArray.get(i)));
             numOfRooms += 1;
         }
     }
 
+    /**
+     * Get the information about the items in every room.
+     *
+     * @param roomsJSON (JSONObject) Contains information about the rooms
+     */
+    private void extractLootInfo(JSONObject roomsJSON) {
+
+        JSONArray roomsJSONArray = (JSONArray) roomsJSON.get("room");
+
+        for (int i = 0; i < roomsJSONArray.size(); i++) {
+            roomLoot((JSONObject) roomsJSONArray.get(i), itemLocations);
+        }
+    }
+
     /**
      * Get a room's information.
      *
      * @param roomJSON (JSONObject) Contains information about one room
-     * @return (Map < String, String >) Contains key/values that has information about the room
+     * @return (RoomSpec) Contains information about the room and its doors
      */
-    private Map<String, String> singleRoom(JSONObject roomJSON) {
-
-        HashMap<String, String> room = new HashMap<>();
-        room.put("id", roomJSON.get("id").toString());
-        room.put("start", roomJSON.get("start").toString());
-        room.put("height", roomJSON.get("height").toString());
-        room.put("width", roomJSON.get("width").toString());
-
-        // Cheap way of making sure all 4 directions have a sentinel value in the map
-        room.put("E_wall_pos", "-1");
-        room.put("N_wall_pos", "-1");
-        room.put("S_wall_pos", "-1");
-        room.put("W_wall_pos", "-1");
-        room.put("E_con_room", "-1");
-        room.put("N_con_room", "-1");
-        room.put("S_con_room", "-1");
-        room.put("W_con_room", "-1");
-
-        // Update the map with any doors in the room
+    private RoomSpec singleRoom(JSONObject roomJSON) {
+
         JSONArray doorArray = (JSONArray) roomJSON.get("doors");
+        DoorSpec[] doors = new DoorSpec[doorArray.size()];
         for (int j = 0; j < doorArray.size(); j++) {
             JSONObject doorObj = (JSONObject) doorArray.get(j);
-            String dir = String.valueOf(doorObj.get("dir"));
-            room.replace(dir + "_wall_pos", doorObj.get("wall_pos").toString());
-            room.replace(dir + "_con_room", doorObj.get("con_room").toString());
+            doors[j] = new DoorSpec(String.valueOf(doorObj.get("dir")),
+                    intValue(doorObj.get("wall_pos")), intValue(doorObj.get("con_room")));
         }
 
+        return new RoomSpec(intValue(roomJSON.get("id")), Boolean.parseBoolean(roomJSON.get("start").toString()),
+                intValue(roomJSON.get("height")), intValue(roomJSON.get("width")), doors);
+    }
+
+    /**
+     * Get the information about every item in a room.
+     *
+     * @param roomJSON (JSONObject) Contains information about one room
+     * @param loot (List < LootSpec >) List the item information is added to
+     */
+    private void roomLoot(JSONObject roomJSON, List<LootSpec> loot) {
+
+        int roomID = intValue(roomJSON.get("id"));
         JSONArray lootArray = (JSONArray) roomJSON.get("loot");
-        // Loop through each item and update the hashmap
         for (int j = 0; j < lootArray.size(); j++) {
-            itemLocations.add(itemPosition((JSONObject) lootArray.get(j), roomJSON.get("id").toString()));
+            loot.add(itemPosition((JSONObject) lootArray.get(j), roomID));
         }
-
-        return room;
     }
 
     /**
-     * Create a map for information about an item in a room.
+     * Create the information about an item in a room.
+     * The name and type come from the item catalog, and are null if the id is not in it.
      *
      * @param lootJSON (JSONObject) Loot key from the rooms file
-     * @param roomID   (String) Room id value
-     * @return (Map < String, String >) Contains information about the item, where it is and what room
+     * @param roomID   (int) Room id value
+     * @return (LootSpec) Contains information about the item, where it is and what room
      */
-    private Map<String, String> itemPosition(JSONObject lootJSON, String roomID) {
+    private LootSpec itemPosition(JSONObject lootJSON, int roomID) {
+
+        int itemID = intValue(lootJSON.get("id"));
+        Map<String, String> item = itemCatalog.get(itemID);
 
-        HashMap<String, String> loot = new HashMap<>();
+        return new LootSpec(roomID, itemID, intValue(lootJSON.get("x")), intValue(lootJSON.get("y")),
+                item == null ? null : item.get("name"), item == null ? null : item.get("type"));
+    }
 
-        loot.put("room", roomID);
-        loot.put("id", lootJSON.get("id").toString());
-        loot.put("x", lootJSON.get("x").toString());
-        loot.put("y", lootJSON.get("y").toString());
+    /**
+     * Read a whole number from a JSON value.
+     *
+     * @param value (Object) A JSON number, or a string holding one
+     * @return (int) The number
+     */
+    private static int intValue(Object value) {
 
-        for (Map<String, String> item : items) {
-            if (item.get("id").toString().equals(loot.get("id").toString())) {
-                loot.put("name", item.get("name"));
-                loot.put("type", item.get("type"));
-                break;
-            }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
         }
-
-        return loot;
+        return Integer.parseInt(value.toString());
     }
 
     /**
@@ -275,11 +440,22 @@ public class RogueParser {
         JSONArray itemsJSONArray = (JSONArray) roomsJSON.get("items");
 
         for (int i = 0; i < itemsJSONArray.size(); i++) {
-            items.add(singleItem((JSONObject) itemsJSONArray.get(i)));
-            numOfItems += 1;
+            addCatalogItem(singleItem((JSONObject) itemsJSONArray.get(i)));
         }
     }
 
+    /**
+     * Index an item by id.
+     * If an id appears twice the first entry is the one loot resolves to.
+     *
+     * @param item (Map < String, String >) Contains information about a single item
+     */
+    private void addCatalogItem(Map<String, String> item) {
+
+        itemCatalog.putIfAbsent(Integer.parseInt(item.get("id")), item);
+        numOfItems += 1;
+    }
+
     /**
      * Get a single item from its JSON object.
      *
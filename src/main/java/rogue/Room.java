@@ -1,9 +1,12 @@
 package rogue;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.awt.Point;
 
 
 /**
@@ -11,15 +14,35 @@ import java.awt.Point;
  * Room contains items(treasures), players (monsters), doors, etc.
  */
 public class Room {
+    private static final int CELL_MASK = 0xFFFF;
+    private static final int NO_CELL = -1;
+    /** Door position renderBase reads as a wall without a door. */
+    static final int NO_DOOR = -1;
+
     private int height;
     private int width;
     private int id;
     private boolean status;
-    private Map<String, Door> doors;
+    private Door[] doors;
     private ArrayList<Item> roomItems;
+    private List<Item> roomItemsView;
+    private int removedItems;
+    private IntMap<Item> itemCells;
+    private IntMap<ArrayDeque<Item>> stackedItems;
     private ArrayList<Door> doorList;
+    private List<Door> doorView;
+    private Room[] exits;
     private Player player;
     private Map<String, Character> symbolMap;
+    private SymbolPalette palette;
+    private char[] baseFrame;
+    private char[] frame;
+    private int frameItems;
+    private int framePlayer;
+    private int frameVersion;
+    private String frameText;
+    private int textVersion;
+    private int version;
 
     /**
      * Default constructor.
@@ -30,10 +53,15 @@ public class Room {
         width = 0;
         status = false;
         player = null;
-        doors = new HashMap<>();
+        doors = new Door[Direction.values().length];
         symbolMap = new HashMap<>();
+        palette = SymbolPalette.EMPTY;
         roomItems = new ArrayList<>();
+        roomItemsView = Collections.unmodifiableList(roomItems);
+        itemCells = new IntMap<>();
+        stackedItems = new IntMap<>();
         doorList = new ArrayList<>();
+        doorView = Collections.unmodifiableList(doorList);
 
     }
 
@@ -42,7 +70,38 @@ public class Room {
      * @param newSymbols - new set of symbols in room
      */
     public void setSymbols(Map<String, Character> newSymbols) {
+        setSymbols(newSymbols, new SymbolPalette(newSymbols));
+    }
+
+    /**
+     * Mutator method to set the symbols in the room along with their compiled palette.
+     * Lets every room of a game share one palette instead of compiling its own.
+     * @param newSymbols - new set of symbols in room
+     * @param compiled - the same symbols compiled into a palette
+     */
+    public void setSymbols(Map<String, Character> newSymbols, SymbolPalette compiled) {
         symbolMap = newSymbols;
+        palette = compiled;
+        baseFrame = null;
+        for (Item item : getRoomItems()) {
+            item.setSymbolKind(palette.kindOfItem(item.getType()));
+        }
+    }
+
+    /**
+     * Accessor method to retrieve the compiled symbols used to draw the room.
+     * @return palette
+     */
+    public SymbolPalette getPalette() {
+        return palette;
+    }
+
+    /**
+     * Accessor method to retrieve the symbols used to draw the room.
+     * @return symbolMap - display characters by symbol name
+     */
+    public Map<String, Character> getSymbols() {
+        return symbolMap;
     }
 
    /**
@@ -75,6 +134,8 @@ public class Room {
      */
     public void setWidth(int newWidth) {
         width = newWidth;
+        exits = null;
+        baseFrame = null;
     }
 
     /**
@@ -91,6 +152,8 @@ public class Room {
      */
     public void setHeight(int newHeight) {
         height = newHeight;
+        exits = null;
+        baseFrame = null;
     }
 
     /**
@@ -111,18 +174,274 @@ public class Room {
 
     /**
      * Accessor method to retrieve the list of items currently in the room.
-     * @return roomItems - current list of items in the room
+     * Change the items through addItem, removeItem or setRoomItems, which keep
+     * the per-cell index and the cached frame up to date. Removing an item
+     * leaves a gap in the list until it is asked for again, so ask again after
+     * removing items rather than keeping the list.
+     * @return a read-only view of the items in the room
      */
-    public ArrayList<Item> getRoomItems() {
-        return roomItems;
+    public List<Item> getRoomItems() {
+        if (removedItems > 0) {
+            compactItems();
+        }
+        return roomItemsView;
+    }
+
+    /**
+     * Method closes the gaps left by removed items, keeping the order of the rest.
+     */
+    private void compactItems() {
+        int next = 0;
+        for (int i = 0; i < roomItems.size(); i++) {
+            Item item = roomItems.get(i);
+            if (item != null) {
+                item.setRoomSlot(this, next);
+                roomItems.set(next++, item);
+            }
+        }
+        roomItems.subList(next, roomItems.size()).clear();
+        removedItems = 0;
     }
 
     /**
      * Mutator method to set the list of items currently in the room.
+     * Items left out of the new list no longer count as lying in the room.
      * @param newRoomItems - new list of items in the room
      */
     public void setRoomItems(ArrayList<Item> newRoomItems) {
+        version++;
+        for (Item item : roomItems) {
+            if (item != null && item.getRoom() == this) {
+                item.setRoomSlot(null, -1);
+            }
+        }
         roomItems = newRoomItems;
+        roomItemsView = Collections.unmodifiableList(roomItems);
+        removedItems = 0;
+        itemCells.clear();
+        stackedItems.clear();
+        for (int i = 0; i < roomItems.size(); i++) {
+            Item item = roomItems.get(i);
+            item.setRoomSlot(this, i);
+            item.setSymbolKind(palette.kindOfItem(item.getType()));
+            indexItem(item);
+        }
+    }
+
+    /**
+     * Accessor method to retrieve a counter that changes whenever the room's items change.
+     * Lets snapshots tell which rooms changed since they were last saved.
+     * @return version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds an item to the room, after any items already in it.
+     * @param item - item to add
+     */
+    public void addItem(Item item) {
+        version++;
+        item.setSymbolKind(palette.kindOfItem(item.getType()));
+        item.setRoomSlot(this, roomItems.size());
+        roomItems.add(item);
+        indexItem(item);
+    }
+
+    /**
+     * Called by an item of the room whose type has changed, so it is drawn again.
+     * @param item - the item
+     */
+    void itemChanged(Item item) {
+        if (holds(item)) {
+            version++;
+        }
+    }
+
+    /**
+     * Called by an item of the room that has moved, so it is indexed under its new tile and drawn again.
+     * @param item - the item
+     * @param oldX - column the item was on
+     * @param oldY - row the item was on
+     */
+    void itemMoved(Item item, int oldX, int oldY) {
+        if (!holds(item)) {
+            return;
+        }
+        unindexItem(item, cellKey(oldX, oldY));
+        indexItem(item);
+        version++;
+    }
+
+    /**
+     * Accessor method to retrieve the item lying on a tile.
+     * When several items share a tile the one added first is returned.
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @return the item, or null if the tile is empty
+     */
+    public Item getItemAt(int x, int y) {
+        return itemCells.get(cellKey(x, y));
+    }
+
+    /**
+     * Removes an item from the room.
+     * The item remembers where it sits in the list, so this takes the same
+     * time however many items the room holds. Its slot is left empty and
+     * the list is compacted once half of it is empty, or when it is next asked for.
+     * @param item - item to remove
+     * @return true if the item was in the room
+     */
+    public boolean removeItem(Item item) {
+        if (item == null) {
+            return false;
+        }
+        int slot = item.getRoomSlot();
+        if (!holds(item)) {
+            // the item was placed in more than one list, so its slot cannot be trusted
+            slot = findItem(item);
+            if (slot < 0) {
+                return false;
+            }
+        }
+        roomItems.set(slot, null);
+        removedItems++;
+        version++;
+        unindexItem(item, cellKey(item.getX(), item.getY()));
+        if (item.getRoom() == this) {
+            item.setRoomSlot(null, -1);
+        }
+        if (removedItems > roomItems.size() / 2) {
+            compactItems();
+        }
+        return true;
+    }
+
+    /**
+     * Method checks whether the item's recorded slot holds it in this room.
+     * @param item - the item
+     * @return true if the item sits in this room's list where it says it does
+     */
+    private boolean holds(Item item) {
+        int slot = item.getRoomSlot();
+        return slot >= 0 && slot < roomItems.size() && roomItems.get(slot) == item;
+    }
+
+    /**
+     * Method finds an item in the list by scanning it.
+     * @param item - the item
+     * @return its slot, or -1 if the room does not hold it
+     */
+    private int findItem(Item item) {
+        for (int i = 0; i < roomItems.size(); i++) {
+            if (roomItems.get(i) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the item lying on a tile, if there is one.
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @return the removed item, or null if the tile was empty
+     */
+    public Item removeItemAt(int x, int y) {
+        Item item = getItemAt(x, y);
+        if (item != null) {
+            removeItem(item);
+        }
+        return item;
+    }
+
+    /**
+     * Removes the item with the given id lying on a tile, if there is one.
+     * @param itemId - id of the item
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @return the removed item, or null if no item with that id lies there
+     */
+    Item removeItemAt(int itemId, int x, int y) {
+        int key = cellKey(x, y);
+        Item item = itemCells.get(key);
+        if (item != null && item.getId() != itemId) {
+            item = null;
+            ArrayDeque<Item> stack = stackedItems.get(key);
+            if (stack != null) {
+                for (Item stacked : stack) {
+                    if (stacked.getId() == itemId) {
+                        item = stacked;
+                        break;
+                    }
+                }
+            }
+        }
+        if (item != null) {
+            removeItem(item);
+        }
+        return item;
+    }
+
+    /**
+     * Method takes an item out of the room it lies in and records it as this room's,
+     * ahead of the setRoomItems call that puts it in this room's list.
+     * @param item - the item
+     */
+    void claimItem(Item item) {
+        if (item.getRoom() != null) {
+            item.getRoom().removeItem(item);
+        }
+        item.setRoomSlot(this, -1);
+    }
+
+    /**
+     * Method packs a tile position into a single int key.
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @return key of the tile
+     */
+    private static int cellKey(int x, int y) {
+        return (x << Short.SIZE) | (y & CELL_MASK);
+    }
+
+    /**
+     * Method records an item in the per-cell index.
+     * Items landing on an occupied tile queue up behind the first one.
+     * @param item - item to index
+     */
+    private void indexItem(Item item) {
+        int key = cellKey(item.getX(), item.getY());
+        if (itemCells.putIfAbsent(key, item) != null) {
+            ArrayDeque<Item> stack = stackedItems.get(key);
+            if (stack == null) {
+                stack = new ArrayDeque<>();
+                stackedItems.put(key, stack);
+            }
+            stack.addLast(item);
+        }
+    }
+
+    /**
+     * Method drops an item from the per-cell index.
+     * @param item - item to drop
+     * @param key - key of the tile the item was indexed under
+     */
+    private void unindexItem(Item item, int key) {
+        ArrayDeque<Item> stack = stackedItems.get(key);
+        if (itemCells.get(key) == item) {
+            if (stack == null) {
+                itemCells.remove(key);
+            } else {
+                itemCells.put(key, stack.pollFirst());
+            }
+        } else if (stack != null) {
+            stack.remove(item);
+        }
+        if (stack != null && stack.isEmpty()) {
+            stackedItems.remove(key);
+        }
     }
 
 
@@ -149,27 +468,108 @@ public class Room {
      * @return found or null based on the object being found
      */
     public Door getDoor(String direction) {
-        return doors.get(direction);
+        Direction wall = Direction.fromCode(direction);
+        return wall == null ? null : doors[wall.ordinal()];
     }
 
     /**
-     * Accessor method to retrieve list of all current doors.
-     * @return doorList - list of doors in the room
+     * Accessor method to retrieve the door in a wall.
+     * @param wall - the wall to look at
+     * @return the door, or null if the wall has none
      */
-    public ArrayList<Door> getDoors() {
+    public Door getDoor(Direction wall) {
+        return doors[wall.ordinal()];
+    }
 
-        for (Map.Entry<String, Door> door : doors.entrySet()) {
-            doorList.add(door.getValue());
-        }
-        return doorList;
+    /**
+     * Accessor method to retrieve list of all current doors.
+     * @return a read-only view of the doors in the room, in wall order
+     */
+    public List<Door> getDoors() {
+        return doorView;
     }
 
     /**
      * Accessor method to set list of all current doors.
+     * A door replaces any door already in its wall. Doors whose direction
+     * is not one of N,S,W,E cannot be placed and are ignored.
      * @param door - new door object
      */
     public void setDoor(Door door) {
-        doors.put(door.getDirection(), door);
+        if (door.getWall() == null) {
+            return;
+        }
+        doors[door.getWall().ordinal()] = door;
+        doorList.clear();
+        for (Door placed : doors) {
+            if (placed != null) {
+                doorList.add(placed);
+            }
+        }
+        exits = null;
+        baseFrame = null;
+    }
+
+    /**
+     * Method finds where walking into a wall tile leads.
+     * The table of exits is built on first use after the doors change, so
+     * crossing the edge of a room is one array lookup. The player always
+     * arrives on the first floor tile of the room returned.
+     * @param wall - the wall being walked into
+     * @param along - position of the tile along the wall
+     * @return the room on the other side of a door on that tile, or null if there is no door
+     */
+    public Room getExit(Direction wall, int along) {
+        if (exits == null) {
+            exits = buildExits();
+        }
+        if (!StepRule.fitsWall(wall, along, width, height)) {
+            return null;
+        }
+        return exits[exitOffset(wall) + along];
+    }
+
+    /**
+     * Drops the exit table so it is rebuilt from the doors on next use.
+     * Used when a room behind one of the doors has been unloaded and will be rebuilt.
+     */
+    void forgetExits() {
+        exits = null;
+    }
+
+    /**
+     * Method computes where a wall's tiles start in the exit table.
+     * @param wall - the wall
+     * @return index of the wall's first tile
+     */
+    private int exitOffset(Direction wall) {
+        switch (wall) {
+            case NORTH:
+                return 0;
+            case SOUTH:
+                return width;
+            case WEST:
+                return 2 * width;
+            default:
+                return 2 * width + height;
+        }
+    }
+
+    /**
+     * Method builds the exit table: for every wall tile, the room its door leads to.
+     * @return the table, with one entry per wall tile
+     */
+    private Room[] buildExits() {
+        Room[] table = new Room[2 * Math.max(width, 0) + 2 * Math.max(height, 0)];
+        for (Door door : doors) {
+            if (door == null || door.getConnectedRooms().size() < 2) {
+                continue;
+            }
+            if (StepRule.fitsWall(door.getWall(), door.getWallPosition(), width, height)) {
+                table[exitOffset(door.getWall()) + door.getWallPosition()] = door.getOtherRoom(this);
+            }
+        }
+        return table;
     }
 
     /**
@@ -187,136 +587,215 @@ public class Room {
      * @throws NotEnoughDoorsException in case room has no doors
      */
     public boolean verifyRoom() throws NotEnoughDoorsException {
-        if (doors.isEmpty()) {
+        if (doorList.isEmpty()) {
             throw new NotEnoughDoorsException();
         }
         return true;
     }
 
     /**
-     * Method generates a 2d array representing each tile in the room.
-     * @return blocks - 2d array implementation
+     * Accessor method to retrieve a counter that changes whenever the room's rendering changes.
+     * That is when its size, doors or symbols change, when its items change,
+     * or when the player enters, leaves or moves within it. Renderers that
+     * remember the counter can reuse their last frame while it stays the same.
+     * Nothing is drawn; a room changed since its last frame reports the counter
+     * its next frame will have.
+     * @return frameVersion
+     */
+    public int getFrameVersion() {
+        return frameStale(playerCell()) ? frameVersion + 1 : frameVersion;
+    }
+
+    /**
+     * Method finds the tile of the frame the player is drawn on.
+     * @return index of the player's tile in the frame buffer, or NO_CELL if the player is not in the room
+     */
+    private int playerCell() {
+        return player != null && player.getCurrentRoom() == this ? cell(player.getX(), player.getY()) : NO_CELL;
+    }
+
+    /**
+     * Method checks whether the frame buffer is behind the room.
+     * @param playerCell - the player's tile in the frame buffer
+     * @return true if the frame must be redrawn
+     */
+    private boolean frameStale(int playerCell) {
+        return baseFrame == null || frameItems != version || framePlayer != playerCell;
+    }
+
+    /**
+     * Method brings the reusable frame buffer up to date with the room.
+     * Floor, walls and doors are drawn once into a cached base layer, rebuilt
+     * only when the doors, size or symbols change. The frame is redrawn from
+     * the base layer, items and player only when one of them has changed, so
+     * an unchanged room costs a few comparisons.
+     * @return frame - the room's frame buffer, laid out row by row, each row followed by a newline
      */
-    private Character[][] makeBlocks() {
-        Character[][] blocks = new Character[width][height];
+    private char[] makeFrame() {
+        int playerCell = playerCell();
+        if (!frameStale(playerCell)) {
+            return frame;
+        }
+        if (baseFrame == null) {
+            int[] doorPositions = new int[doors.length];
+            for (int i = 0; i < doors.length; i++) {
+                doorPositions[i] = doors[i] == null ? NO_DOOR : doors[i].getWallPosition();
+            }
+            baseFrame = renderBase(width, height, palette, doorPositions);
+        }
+        if (frame == null || frame.length != baseFrame.length) {
+            frame = new char[baseFrame.length];
+        }
 
-        createFloor(blocks);
-        createWalls(blocks);
-        createDoors(blocks);
-        createItems(blocks);
-        createPlayer(blocks);
+        System.arraycopy(baseFrame, 0, frame, 0, baseFrame.length);
+        createItems(frame);
+        if (playerCell != NO_CELL) {
+            frame[playerCell] = palette.glyph(SymbolPalette.PLAYER);
+        }
+        frameItems = version;
+        framePlayer = playerCell;
+        frameVersion++;
+
+        return frame;
+    }
+
+    /**
+     * Method computes the position of a tile inside the frame buffer.
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @return index of the tile in the frame buffer
+     */
+    private int cell(int x, int y) {
+        return y * (width + 1) + x;
+    }
 
+    /**
+     * Method renders a room's floor, walls and doors, the layer that only changes with its size, doors or symbols.
+     * DungeonTemplate renders its rooms' base frames here too, so both draw them the same way.
+     * @param width - width of the room
+     * @param height - height of the room
+     * @param palette - display characters by tile kind
+     * @param doorPositions - position of the door in each wall, indexed by Direction.ordinal(), or NO_DOOR
+     * @return frame - rows of the room, each followed by a newline
+     */
+    static char[] renderBase(int width, int height, SymbolPalette palette, int[] doorPositions) {
+        char[] blocks = new char[(width + 1) * height];
+        createFloor(blocks, width, height, palette);
+        createWalls(blocks, width, height, palette);
+        createDoors(blocks, width, height, palette, doorPositions);
         return blocks;
     }
 
     /**
      * Method manipulates Floor symbols as character blocks in display.
-     * @param blocks - 2d array implementation
+     * @param blocks - frame buffer of the room
+     * @param width - width of the room
+     * @param height - height of the room
+     * @param palette - display characters by tile kind
      */
-    private void createFloor(Character[][] blocks) {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                blocks[x][y] = symbolMap.get("FLOOR");
-            }
+    private static void createFloor(char[] blocks, int width, int height, SymbolPalette palette) {
+        char floor = palette.glyph(SymbolPalette.FLOOR);
+        for (int y = 0; y < height; y++) {
+            int row = y * (width + 1);
+            Arrays.fill(blocks, row, row + width, floor);
+            blocks[row + width] = '\n';
         }
     }
 
     /**
      * Method manipulates Walls symbols as character blocks in display.
-     * @param blocks - 2d array implementation
+     * @param blocks - frame buffer of the room
+     * @param width - width of the room
+     * @param height - height of the room
+     * @param palette - display characters by tile kind
      */
-    private void createWalls(Character[][] blocks) {
-        for (int x = 0; x < height; x++) {
-            blocks[0][x] = symbolMap.get("EW_WALL");
-            blocks[width - 1][x] = symbolMap.get("EW_WALL");
-        }
-        for (int x = 0; x < width; x++) {
-            blocks[x][0] = symbolMap.get("NS_WALL");
-            blocks[x][height - 1] = symbolMap.get("NS_WALL");
+    private static void createWalls(char[] blocks, int width, int height, SymbolPalette palette) {
+        char ewWall = palette.glyph(SymbolPalette.EW_WALL);
+        char nsWall = palette.glyph(SymbolPalette.NS_WALL);
+        int stride = width + 1;
+        for (int y = 0; y < height; y++) {
+            blocks[y * stride] = ewWall;
+            blocks[y * stride + width - 1] = ewWall;
         }
+        Arrays.fill(blocks, 0, width, nsWall);
+        Arrays.fill(blocks, (height - 1) * stride, (height - 1) * stride + width, nsWall);
     }
 
     /**
      * Method manipulates Doors symbols as character blocks in display.
-     * @param blocks - 2d array implementation
+     * @param blocks - frame buffer of the room
+     * @param width - width of the room
+     * @param height - height of the room
+     * @param palette - display characters by tile kind
+     * @param doorPositions - position of the door in each wall, indexed by Direction.ordinal(), or NO_DOOR
      */
-    private void createDoors(Character[][] blocks) {
-        for (Map.Entry<String, Door> entry : doors.entrySet()) {
-            switch (entry.getKey()) {
-                case "N":
-                    blocks[entry.getValue().getWallPosition()][0] = symbolMap.get("DOOR");
-                    break;
-                case "W":
-                    blocks[0][entry.getValue().getWallPosition()] = symbolMap.get("DOOR");
+    private static void createDoors(char[] blocks, int width, int height, SymbolPalette palette,
+                                    int[] doorPositions) {
+        char door = palette.glyph(SymbolPalette.DOOR);
+        int stride = width + 1;
+        for (Direction wall : Direction.values()) {
+            int position = doorPositions[wall.ordinal()];
+            if (position == NO_DOOR) {
+                continue;
+            }
+            switch (wall) {
+                case NORTH:
+                    blocks[position] = door;
                     break;
-                case "S":
-                    blocks[entry.getValue().getWallPosition()][height - 1] = symbolMap.get("DOOR");
+                case WEST:
+                    blocks[position * stride] = door;
                     break;
-                case "E":
-                    blocks[width - 1][entry.getValue().getWallPosition()] = symbolMap.get("DOOR");
+                case SOUTH:
+                    blocks[(height - 1) * stride + position] = door;
                     break;
                 default:
+                    blocks[position * stride + width - 1] = door;
             }
         }
     }
 
     /**
      * Method manipulates Items symbols as character blocks in display.
-     * @param blocks - 2d array implementation
+     * @param blocks - frame buffer of the room
      */
-    private void createItems(Character[][] blocks) {
+    private void createItems(char[] blocks) {
         for (Item item : roomItems) {
-            Point point = item.getXyLocation();
-            blocks[point.x][point.y] = symbolMap.get(item.getType().toUpperCase());
-        }
-    }
-
-    /**
-     * Method manipulates Player symbols as character blocks in display.
-     * @param blocks - 2d array implementation
-     */
-    private void createPlayer(Character[][] blocks) {
-        if (player.getCurrentRoom() == this) {
-            Point playerPos = player.getXyLocation();
-            blocks[playerPos.x][playerPos.y] = symbolMap.get("PLAYER");
+            if (item == null) {
+                continue;
+            }
+            if (item.getSymbolKind() == Item.UNRESOLVED) {
+                item.setSymbolKind(palette.kindOfItem(item.getType()));
+            }
+            blocks[cell(item.getX(), item.getY())] = palette.glyph(item.getSymbolKind());
         }
     }
 
     /**
-     * Method generates a string of each individual block in the grid.
-     * based on the dimensions of the room
-     * @param blocks - represents each block in the game's grid
-     * @return grid - String represents the display of the game
+     * Method appends an ascii rendering of the room to the given builder.
+     * Reuses the room's frame buffer, so nothing is allocated per frame
+     * beyond what the builder itself needs to grow, and nothing is redrawn
+     * if the room has not changed since the last frame.
+     * @param out - builder that receives the rendering
+     * @return out - the same builder, for chaining
      */
-    private String displayBlocks(Character[][] blocks) {
-        String grid = "";
-
-        for (int x = 0; x < height; x++) {
-            for (int y = 0; y < width; y++) {
-                grid = grid.concat(String.valueOf(blocks[y][x]));
-            }
-            grid = grid.concat("\n");
-        }
-        return grid;
+    public StringBuilder appendRoom(StringBuilder out) {
+        char[] blocks = makeFrame();
+        return out.append(blocks, 0, blocks.length);
     }
 
-
     /**
      * Method generates a string that can be printed to produce an ascii.
      * rendering of the room and all of its contents.
      * @return grid - String represents the display of the room
      */
     public String displayRoom() {
-        String grid = "";
-
-        Character[][] blocks = makeBlocks();
-        grid = grid.concat(displayBlocks(blocks));
-
-        if (isPlayerInRoom()) {
-            Point point = player.getXyLocation();
-            blocks[(int) point.getX()][(int) point.getY()] = symbolMap.get("PLAYER");
+        long start = System.nanoTime();
+        char[] blocks = makeFrame();
+        if (frameText == null || textVersion != frameVersion) {
+            frameText = new String(blocks, 0, blocks.length);
+            textVersion = frameVersion;
         }
-        return grid;
+        Metrics.DISPLAY_ROOM.recordSince(start);
+        return frameText;
     }
 }
-
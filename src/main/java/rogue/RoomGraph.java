@@ -0,0 +1,41 @@
+package rogue;
+
+/**
+ * The rooms of a dungeon and the doors between them, seen as numbered slots.
+ * Lets ConnectivityChecker work the same way on built rooms and on the exit
+ * tables of a dungeon whose rooms have not been built.
+ */
+public interface RoomGraph {
+    /** Marks a wall without a door, or a door that leads nowhere. */
+    int NO_ROOM = -1;
+
+    /**
+     * Accessor method to retrieve the number of rooms.
+     * @return number of rooms, numbered from 0
+     */
+    int getNumOfRooms();
+
+    /**
+     * Method checks if a wall of a room has a door.
+     * @param slot - slot of the room
+     * @param wall - the wall
+     * @return true if the wall has a door, whether or not it leads anywhere
+     */
+    boolean hasDoor(int slot, Direction wall);
+
+    /**
+     * Accessor method to retrieve the room behind the door in a wall.
+     * @param slot - slot of the room
+     * @param wall - the wall
+     * @return slot of the room behind the door, or NO_ROOM
+     */
+    int getExitRoom(int slot, Direction wall);
+
+    /**
+     * Method joins two rooms with a door pair, one in a free wall of each.
+     * @param slotA - slot of the first room
+     * @param slotB - slot of the second room
+     * @return true if the doors were added, false if either room has no free wall
+     */
+    boolean addDoors(int slotA, int slotB);
+}
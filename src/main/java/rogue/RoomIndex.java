@@ -0,0 +1,113 @@
+package rogue;
+
+/**
+ * Table of rooms indexed by room id.
+ * Ids that are small and tightly packed go into a dense array, and any
+ * others spill into a primitive int-keyed map, so every lookup is O(1).
+ */
+public class RoomIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Room[] dense;
+    private IntMap<Room> sparse;
+    private int size;
+
+    /**
+     * Default constructor.
+     */
+    public RoomIndex() {
+        dense = new Room[INITIAL_CAPACITY];
+        sparse = new IntMap<>();
+        size = 0;
+    }
+
+    /**
+     * Accessor method to retrieve the number of indexed rooms.
+     * @return size - number of rooms in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a room to the index under its id.
+     * If a room with the same id is already indexed the first one is kept,
+     * matching a front to back scan of the room list.
+     * @param room - room to index
+     * @return true if the room was added
+     */
+    public boolean add(Room room) {
+        int id = room.getId();
+        if (get(id) != null) {
+            return false;
+        }
+        if (fitsDense(id)) {
+            if (id >= dense.length) {
+                growDense(id);
+            }
+            dense[id] = room;
+        } else {
+            sparse.put(id, room);
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the room indexed under an id.
+     * @param id - id of the room to remove
+     * @return the removed room, or null if no room had that id
+     */
+    public Room remove(int id) {
+        Room room;
+        if (id >= 0 && id < dense.length && dense[id] != null) {
+            room = dense[id];
+            dense[id] = null;
+        } else {
+            room = sparse.remove(id);
+        }
+        if (room != null) {
+            size--;
+        }
+        return room;
+    }
+
+    /**
+     * Finds the room with the given id.
+     * @param id - room id to look up
+     * @return room or null - based on the room being found
+     */
+    public Room get(int id) {
+        if (id >= 0 && id < dense.length) {
+            Room room = dense[id];
+            if (room != null || sparse.isEmpty()) {
+                return room;
+            }
+        }
+        return sparse.get(id);
+    }
+
+    /**
+     * Method decides if an id is close enough to the others to be stored densely.
+     * The dense array may be at most about twice as long as the number of rooms.
+     * @param id - room id
+     * @return true if the id belongs in the dense array
+     */
+    private boolean fitsDense(int id) {
+        return id >= 0 && (id < dense.length || id <= 2 * size + INITIAL_CAPACITY);
+    }
+
+    /**
+     * Method grows the dense array so it can hold an id.
+     * @param id - largest id that must fit
+     */
+    private void growDense(int id) {
+        int capacity = dense.length;
+        while (capacity <= id) {
+            capacity <<= 1;
+        }
+        Room[] grown = new Room[capacity];
+        System.arraycopy(dense, 0, grown, 0, dense.length);
+        dense = grown;
+    }
+}
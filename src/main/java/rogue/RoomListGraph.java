@@ -0,0 +1,70 @@
+package rogue;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * A RoomGraph over rooms that have been built, numbered by their position in the list.
+ * Doors are read from the rooms each time they are asked for, so doors
+ * added while repairing the dungeon are seen straight away.
+ */
+final class RoomListGraph implements RoomGraph {
+    private List<Room> rooms;
+    private IdentityHashMap<Room, Integer> slots;
+    private BiPredicate<Room, Room> createDoor;
+
+    /**
+     * Constructor with all data provided.
+     * @param dungeonRooms - every room of the dungeon
+     * @param doorMaker - adds a door pair between two rooms, returning false if it cannot
+     */
+    RoomListGraph(List<Room> dungeonRooms, BiPredicate<Room, Room> doorMaker) {
+        rooms = dungeonRooms;
+        createDoor = doorMaker;
+        slots = new IdentityHashMap<>(rooms.size() * 2);
+        for (int i = 0; i < rooms.size(); i++) {
+            slots.putIfAbsent(rooms.get(i), i);
+        }
+    }
+
+    /**
+     * Method finds the slot of the first starting room.
+     * @return slot of the starting room, or of the first room if none is marked
+     */
+    int getStartSlot() {
+        for (int i = 0; i < rooms.size(); i++) {
+            if (rooms.get(i).getIsStartingRoom()) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int getNumOfRooms() {
+        return rooms.size();
+    }
+
+    @Override
+    public boolean hasDoor(int slot, Direction wall) {
+        return rooms.get(slot).getDoor(wall) != null;
+    }
+
+    @Override
+    public int getExitRoom(int slot, Direction wall) {
+        Room room = rooms.get(slot);
+        Door door = room.getDoor(wall);
+        if (door == null || door.getConnectedRooms().size() < 2) {
+            return NO_ROOM;
+        }
+        Room other = door.getOtherRoom(room);
+        Integer otherSlot = other == null ? null : slots.get(other);
+        return otherSlot == null ? NO_ROOM : otherSlot;
+    }
+
+    @Override
+    public boolean addDoors(int slotA, int slotB) {
+        return createDoor.test(rooms.get(slotA), rooms.get(slotB));
+    }
+}
@@ -0,0 +1,432 @@
+package rogue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds routes between rooms through their doors.
+ * Routes are found with breadth-first search, or with A* guided by landmark
+ * distances once landmarks have been precomputed. Recent routes are kept in
+ * an LRU cache. Everything is rebuilt when the game reports that its doors
+ * have changed.
+ */
+public class RoomNavigator {
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int SLOT_BITS = 32;
+    private static final long SLOT_MASK = 0xFFFFFFFFL;
+
+    private Rogue game;
+    private int cacheSize;
+    private int builtVersion = -1;
+    private List<Room> rooms;
+    private IdentityHashMap<Room, Integer> slots;
+    private int[] edgeStart;
+    private int[] edges;
+    private int[] reverseStart;
+    private int[] reverseEdges;
+    private int landmarkCount;
+    private int[] landmarkTable;
+    private int[] goalRow;
+    private int[] cost;
+    private int[] previous;
+    private int[] visited;
+    private int[] closed;
+    private int[] queue;
+    private int stamp;
+    private long[] heap;
+    private LinkedHashMap<Long, List<Room>> cache;
+
+    /**
+     * Constructor with the default cache size.
+     * @param theGame - the game whose rooms are navigated
+     */
+    public RoomNavigator(Rogue theGame) {
+        this(theGame, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor with all data provided.
+     * @param theGame - the game whose rooms are navigated
+     * @param routesCached - number of recent routes to keep
+     */
+    public RoomNavigator(Rogue theGame, int routesCached) {
+        game = theGame;
+        cacheSize = routesCached;
+        cache = new LinkedHashMap<Long, List<Room>>(Math.max(routesCached, 1), LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Room>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Precomputes distances to and from a few landmark rooms, so routes are
+     * found with A* instead of a plain breadth-first search.
+     * Landmarks are chosen far apart from each other.
+     * @param count - number of landmarks
+     */
+    public void precomputeLandmarks(int count) {
+        refresh();
+        landmarkCount = Math.min(count, rooms.size());
+        int stride = 2 * landmarkCount;
+        // Each room's distances sit side by side, so an estimate reads a single row
+        landmarkTable = new int[rooms.size() * stride];
+        goalRow = new int[stride];
+        int[] nearest = new int[rooms.size()];
+        Arrays.fill(nearest, UNREACHABLE);
+        int landmark = 0;
+        for (int l = 0; l < landmarkCount; l++) {
+            int[] from = distancesFrom(landmark, edgeStart, edges);
+            int[] to = distancesFrom(landmark, reverseStart, reverseEdges);
+            int farthest = 0;
+            for (int v = 0; v < nearest.length; v++) {
+                landmarkTable[v * stride + 2 * l] = from[v];
+                landmarkTable[v * stride + 2 * l + 1] = to[v];
+                nearest[v] = Math.min(nearest[v], from[v]);
+                if (nearest[v] != UNREACHABLE && nearest[v] > nearest[farthest]) {
+                    farthest = v;
+                }
+            }
+            landmark = farthest;
+        }
+    }
+
+    /**
+     * Finds a shortest route between two rooms.
+     * @param from - room to start in
+     * @param to - room to reach
+     * @return rooms along the route, both ends included, or null if there is none
+     */
+    public List<Room> route(Room from, Room to) {
+        refresh();
+        Integer start = slots.get(from);
+        Integer goal = slots.get(to);
+        if (start == null || goal == null) {
+            return null;
+        }
+        long key = ((long) start << SLOT_BITS) | (goal & SLOT_MASK);
+        if (cache.containsKey(key)) {
+            return cache.get(key);
+        }
+        List<Room> found = landmarkCount > 0 ? aStar(start, goal) : breadthFirst(start, goal);
+        cache.put(key, found);
+        return found;
+    }
+
+    /**
+     * Finds the number of doors on a shortest route between two rooms.
+     * @param from - room to start in
+     * @param to - room to reach
+     * @return number of doors to go through, or -1 if there is no route
+     */
+    public int distance(Room from, Room to) {
+        List<Room> found = route(from, to);
+        return found == null ? -1 : found.size() - 1;
+    }
+
+    /**
+     * Finds a route to the nearest room holding an item of the given type.
+     * Not cached, since items are picked up as the game goes on.
+     * @param from - room to start in
+     * @param itemType - item type to look for, case does not matter
+     * @return rooms along the route, both ends included, or null if no reachable room has one
+     */
+    public List<Room> routeToItem(Room from, String itemType) {
+        refresh();
+        Integer start = slots.get(from);
+        if (start == null) {
+            return null;
+        }
+        int[] pending = beginSearch(start);
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int room = pending[head++];
+            if (holds(rooms.get(room), itemType)) {
+                return path(start, room);
+            }
+            for (int e = edgeStart[room]; e < edgeStart[room + 1]; e++) {
+                int next = edges[e];
+                if (visited[next] != stamp) {
+                    visited[next] = stamp;
+                    previous[next] = room;
+                    pending[tail++] = next;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method checks if a room holds an item of a type.
+     * @param room - room to check
+     * @param itemType - item type to look for
+     * @return true if the room holds such an item
+     */
+    private static boolean holds(Room room, String itemType) {
+        for (Item item : room.getRoomItems()) {
+            if (itemType.equalsIgnoreCase(item.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method finds a route with breadth-first search.
+     * @param start - slot of the first room
+     * @param goal - slot of the last room
+     * @return the route, or null if there is none
+     */
+    private List<Room> breadthFirst(int start, int goal) {
+        int[] pending = beginSearch(start);
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int room = pending[head++];
+            if (room == goal) {
+                return path(start, goal);
+            }
+            for (int e = edgeStart[room]; e < edgeStart[room + 1]; e++) {
+                int next = edges[e];
+                if (visited[next] != stamp) {
+                    visited[next] = stamp;
+                    previous[next] = room;
+                    pending[tail++] = next;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method finds a route with A*, estimating the remaining distance from the landmarks.
+     * @param start - slot of the first room
+     * @param goal - slot of the last room
+     * @return the route, or null if there is none
+     */
+    private List<Room> aStar(int start, int goal) {
+        beginSearch(start);
+        System.arraycopy(landmarkTable, goal * goalRow.length, goalRow, 0, goalRow.length);
+        cost[start] = 0;
+        int heapSize = push(0, estimate(start), start);
+        while (heapSize > 0) {
+            long top = heap[0];
+            heapSize = pop(heapSize);
+            int room = (int) (top & SLOT_MASK);
+            if (room == goal) {
+                return path(start, goal);
+            }
+            // The landmark estimate is consistent, so a room's first expansion is already its cheapest
+            if (closed[room] == stamp) {
+                continue;
+            }
+            closed[room] = stamp;
+            for (int e = edgeStart[room]; e < edgeStart[room + 1]; e++) {
+                int next = edges[e];
+                int nextCost = cost[room] + 1;
+                if (visited[next] != stamp || nextCost < cost[next]) {
+                    visited[next] = stamp;
+                    cost[next] = nextCost;
+                    previous[next] = room;
+                    heapSize = push(heapSize, nextCost + estimate(next), next);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method gives a lower bound on the doors between a room and the goal using the landmarks.
+     * @param room - slot of the room
+     * @return the estimate
+     */
+    private int estimate(int room) {
+        int best = 0;
+        int row = room * goalRow.length;
+        for (int i = 0; i < goalRow.length; i += 2) {
+            int fromRoom = landmarkTable[row + i];
+            int toRoom = landmarkTable[row + i + 1];
+            if (goalRow[i] != UNREACHABLE && fromRoom != UNREACHABLE) {
+                best = Math.max(best, goalRow[i] - fromRoom);
+            }
+            if (toRoom != UNREACHABLE && goalRow[i + 1] != UNREACHABLE) {
+                best = Math.max(best, toRoom - goalRow[i + 1]);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method adds an entry to the search heap, ordered by estimated total cost.
+     * @param size - entries in the heap
+     * @param priority - estimated total cost
+     * @param room - slot of the room
+     * @return entries in the heap afterwards
+     */
+    private int push(int size, int priority, int room) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        long entry = ((long) priority << SLOT_BITS) | room;
+        int i = size;
+        while (i > 0 && heap[(i - 1) / 2] > entry) {
+            heap[i] = heap[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = entry;
+        return size + 1;
+    }
+
+    /**
+     * Method removes the cheapest entry from the search heap.
+     * @param size - entries in the heap
+     * @return entries in the heap afterwards
+     */
+    private int pop(int size) {
+        long last = heap[size - 1];
+        int remaining = size - 1;
+        int i = 0;
+        while (2 * i + 1 < remaining) {
+            int child = 2 * i + 1;
+            if (child + 1 < remaining && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return remaining;
+    }
+
+    /**
+     * Method computes the doors needed to reach every room from one room.
+     * @param start - slot of the first room
+     * @param starts - where each room's edges start
+     * @param targets - edge targets
+     * @return distances indexed by slot, UNREACHABLE where there is no route
+     */
+    private int[] distancesFrom(int start, int[] starts, int[] targets) {
+        int[] distance = new int[rooms.size()];
+        Arrays.fill(distance, UNREACHABLE);
+        int[] pending = new int[rooms.size()];
+        distance[start] = 0;
+        pending[0] = start;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int room = pending[head];
+            for (int e = starts[room]; e < starts[room + 1]; e++) {
+                if (distance[targets[e]] == UNREACHABLE) {
+                    distance[targets[e]] = distance[room] + 1;
+                    pending[tail++] = targets[e];
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Method starts a new search without clearing the scratch arrays.
+     * @param start - slot of the first room
+     * @return queue for a breadth-first search, holding the first room
+     */
+    private int[] beginSearch(int start) {
+        stamp++;
+        visited[start] = stamp;
+        previous[start] = -1;
+        queue[0] = start;
+        return queue;
+    }
+
+    /**
+     * Method walks the previous links back from the last room.
+     * @param start - slot of the first room
+     * @param goal - slot of the last room
+     * @return rooms along the route, in order
+     */
+    private List<Room> path(int start, int goal) {
+        ArrayList<Room> found = new ArrayList<>();
+        for (int room = goal; room != -1; room = room == start ? -1 : previous[room]) {
+            found.add(rooms.get(room));
+        }
+        Collections.reverse(found);
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Method rebuilds the door graph if the game's doors have changed since it was built.
+     */
+    private void refresh() {
+        if (builtVersion == game.getGraphVersion() && rooms.size() == game.getRooms().size()) {
+            return;
+        }
+        builtVersion = game.getGraphVersion();
+        rooms = new ArrayList<>(game.getRooms());
+        cache.clear();
+        buildGraph();
+
+        cost = new int[rooms.size()];
+        previous = new int[rooms.size()];
+        visited = new int[rooms.size()];
+        closed = new int[rooms.size()];
+        queue = new int[rooms.size()];
+        stamp = 0;
+        heap = new long[Math.max(rooms.size(), 1)];
+        if (landmarkCount > 0) {
+            precomputeLandmarks(landmarkCount);
+        }
+    }
+
+    /**
+     * Method lays out the doors as forward and reverse adjacency arrays.
+     */
+    private void buildGraph() {
+        slots = new IdentityHashMap<>(rooms.size() * 2);
+        for (int i = 0; i < rooms.size(); i++) {
+            slots.putIfAbsent(rooms.get(i), i);
+        }
+        ArrayList<int[]> links = new ArrayList<>();
+        edgeStart = new int[rooms.size() + 1];
+        reverseStart = new int[rooms.size() + 1];
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            for (Direction dir : Direction.values()) {
+                Door door = room.getDoor(dir);
+                if (door == null) {
+                    continue;
+                }
+                for (Room other : door.getConnectedRooms()) {
+                    Integer target = other == null || other == room ? null : slots.get(other);
+                    if (target != null) {
+                        links.add(new int[] {i, target});
+                        edgeStart[i + 1]++;
+                        reverseStart[target + 1]++;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < rooms.size(); i++) {
+            edgeStart[i + 1] += edgeStart[i];
+            reverseStart[i + 1] += reverseStart[i];
+        }
+        edges = new int[links.size()];
+        reverseEdges = new int[links.size()];
+        int[] fill = edgeStart.clone();
+        int[] reverseFill = reverseStart.clone();
+        for (int[] link : links) {
+            edges[fill[link[0]]++] = link[1];
+            reverseEdges[reverseFill[link[1]]++] = link[0];
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package rogue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed description of a room, as read from the dungeon file.
+ */
+public final class RoomSpec {
+    private final int id;
+    private final boolean start;
+    private final int height;
+    private final int width;
+    private final List<DoorSpec> doors;
+
+    /**
+     * Constructor with all data provided.
+     * @param roomId - id of the room
+     * @param isStart - true if the player starts in this room
+     * @param roomHeight - height of the room
+     * @param roomWidth - width of the room
+     * @param roomDoors - doors of the room
+     */
+    public RoomSpec(int roomId, boolean isStart, int roomHeight, int roomWidth, DoorSpec... roomDoors) {
+        id = roomId;
+        start = isStart;
+        height = roomHeight;
+        width = roomWidth;
+        doors = Collections.unmodifiableList(Arrays.asList(roomDoors.clone()));
+    }
+
+    /**
+     * Creates a room description from the map format RogueParser.nextRoom() returns.
+     * @param room - map of a room properties to read from
+     * @return the room description
+     */
+    public static RoomSpec fromMap(Map<String, String> room) {
+        DoorSpec[] roomDoors = new DoorSpec[Direction.values().length];
+        int count = 0;
+        for (Direction wall : Direction.values()) {
+            String dir = wall.getCode();
+            int wallPos = Integer.parseInt(room.get(dir + "_wall_pos"));
+            if (wallPos != -1) {
+                roomDoors[count++] = new DoorSpec(dir, wallPos, Integer.parseInt(room.get(dir + "_con_room")));
+            }
+        }
+        return new RoomSpec(Integer.parseInt(room.get("id")), Boolean.parseBoolean(room.get("start")),
+                Integer.parseInt(room.get("height")), Integer.parseInt(room.get("width")),
+                Arrays.copyOf(roomDoors, count));
+    }
+
+    /**
+     * Converts the description to the map format RogueParser.nextRoom() returns.
+     * @return (Map < String, String >) Contains key/values that has information about the room
+     */
+    public Map<String, String> toMap() {
+        HashMap<String, String> room = new HashMap<>();
+        room.put("id", Integer.toString(id));
+        room.put("start", Boolean.toString(start));
+        room.put("height", Integer.toString(height));
+        room.put("width", Integer.toString(width));
+        for (Direction wall : Direction.values()) {
+            room.put(wall.getCode() + "_wall_pos", "-1");
+            room.put(wall.getCode() + "_con_room", "-1");
+        }
+        for (DoorSpec door : doors) {
+            room.put(door.getDirection() + "_wall_pos", Integer.toString(door.getWallPosition()));
+            room.put(door.getDirection() + "_con_room", Integer.toString(door.getConnectedRoom()));
+        }
+        return room;
+    }
+
+    /**
+     * Accessor method to retrieve the room's id.
+     * @return id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Accessor method to check if the player starts in this room.
+     * @return true if the room is a starting room
+     */
+    public boolean isStart() {
+        return start;
+    }
+
+    /**
+     * Accessor method to retrieve the room's height.
+     * @return height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Accessor method to retrieve the room's width.
+     * @return width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Accessor method to retrieve the room's doors.
+     * @return doors - read only list of doors
+     */
+    public List<DoorSpec> getDoors() {
+        return doors;
+    }
+}
@@ -0,0 +1,162 @@
+package rogue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many game sessions on one dungeon.
+ * The dungeon is loaded once into a shared template and each session keeps
+ * only its own overlay. Moves for a session run on a small fixed pool of threads.
+ */
+public class SessionHost {
+    private static final int DEFAULT_SESSIONS = 5000;
+    private static final int DEFAULT_MOVES = 10000;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final int THREADS_ARG = 3;
+
+    private DungeonTemplate template;
+    private ExecutorService executor;
+    private ConcurrentHashMap<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Constructor with one thread per processor.
+     * @param theTemplate - the dungeon every session plays in
+     */
+    public SessionHost(DungeonTemplate theTemplate) {
+        this(theTemplate, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor with all data provided.
+     * @param theTemplate - the dungeon every session plays in
+     * @param threads - number of threads that run moves
+     */
+    public SessionHost(DungeonTemplate theTemplate, int threads) {
+        template = theTemplate;
+        executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "rogue-session");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a new session in the starting room.
+     * @return id of the session
+     */
+    public int open() {
+        int id = nextId.getAndIncrement();
+        sessions.put(id, new GameSession(template, id));
+        return id;
+    }
+
+    /**
+     * Ends a session.
+     * @param sessionId - id of the session
+     * @return true if the session existed
+     */
+    public boolean close(int sessionId) {
+        return sessions.remove(sessionId) != null;
+    }
+
+    /**
+     * Accessor method to retrieve a session.
+     * Moves made on the session directly must not overlap with moves handed to play,
+     * unless the caller synchronizes on the session as play does.
+     * @param sessionId - id of the session
+     * @return the session, or null if there is none with that id
+     */
+    public GameSession getSession(int sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Accessor method to retrieve the number of open sessions.
+     * @return number of sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Accessor method to retrieve the shared dungeon.
+     * @return template
+     */
+    public DungeonTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Applies moves to a session on the host's threads, then renders its room.
+     * @param sessionId - id of the session
+     * @param moves - the move characters, in order
+     * @return the rendering after the last move; fails with IllegalArgumentException if there is no such session
+     */
+    public CompletableFuture<String> play(int sessionId, CharSequence moves) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalArgumentException("No session " + sessionId));
+            return failed;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            synchronized (session) {
+                session.play(moves);
+                return session.displayRoom();
+            }
+        }, executor);
+    }
+
+    /**
+     * Stops the host's threads once the moves already handed to them are done.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Plays random walks in many sessions at once and reports the move rate.
+     *
+     * @param args dungeon file, then optionally the number of sessions,
+     *             moves per session and threads
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: SessionHost <fileLocations.json|dungeon.bin> [sessions] [moves] [threads]");
+            return;
+        }
+        try {
+            DungeonTemplate template = DungeonTemplate.load(HeadlessRunner.load(args[0]));
+            int count = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SESSIONS;
+            int moves = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MOVES;
+            SessionHost host = args.length > THREADS_ARG
+                    ? new SessionHost(template, Integer.parseInt(args[THREADS_ARG])) : new SessionHost(template);
+
+            List<CompletableFuture<String>> pending = new ArrayList<>(count);
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                pending.add(host.play(host.open(), HeadlessRunner.randomMoves(moves, i)));
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+            long elapsed = System.nanoTime() - start;
+            host.shutdown();
+            host.executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            System.out.printf("%d sessions on %d rooms and %d items, %.0f moves/s%n", host.getSessionCount(),
+                    template.getNumOfRooms(), template.getNumOfItems(),
+                    (double) count * moves * NANOS_PER_SECOND / elapsed);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package rogue;
+
+/**
+ * Layout constants of the binary game snapshot format.
+ *
+ * A snapshot is laid out as:
+ * <pre>
+ * header:  int magic, int version, byte kind, int roomCount, long sequence
+ * player:  short nameLength (-1 for no name), UTF-8 bytes, byte placed, int x, int y, int roomSlot
+ * rooms:   int changedCount, then changedCount x (int slot, int roomId, int itemCount,
+ *                                                 then itemCount x (int itemId, int x, int y))
+ * </pre>
+ * A full snapshot lists every room. An incremental snapshot lists only the rooms whose
+ * items changed since the snapshot before it, and is restored on top of that one.
+ * Rooms are numbered by their position in Rogue.getRooms().
+ */
+public final class SnapshotFormat {
+    /** Marks the start of a snapshot file ("RGSN"). */
+    public static final int MAGIC = 0x5247534E;
+    /** Version of the layout written by this code. */
+    public static final int VERSION = 1;
+    /** Kind of a snapshot that lists every room. */
+    public static final byte FULL = 0;
+    /** Kind of a snapshot that lists only changed rooms. */
+    public static final byte INCREMENTAL = 1;
+    /** Size of the header in bytes. */
+    public static final int HEADER_BYTES = 3 * Integer.BYTES + 1 + Long.BYTES;
+    /** Size of the player's placement, which follows the name: placed, x, y and room slot. */
+    public static final int PLAYER_BYTES = 1 + 3 * Integer.BYTES;
+    /** Size of a room without its items: slot, id and item count. */
+    public static final int ROOM_BYTES = 3 * Integer.BYTES;
+    /** Size of an item: id, x and y. */
+    public static final int ITEM_BYTES = 3 * Integer.BYTES;
+    /** Name length written for a player without a name. */
+    public static final short NO_NAME = -1;
+    /** Room slot written for a player who is not in a room. */
+    public static final int NO_ROOM = -1;
+
+    /**
+     * Not instantiable.
+     */
+    private SnapshotFormat() {
+    }
+}
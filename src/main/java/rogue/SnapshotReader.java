@@ -0,0 +1,323 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Restores a game saved by SnapshotWriter.
+ * The game must be built from the same dungeon the snapshot was taken from.
+ * Items are matched to the saved ones by id and position, first among the
+ * items lying in the room, then among the items lying in no room or in another
+ * room the snapshot rewrites. Each item is matched at most once, so no item
+ * ends up in two rooms.
+ */
+public class SnapshotReader {
+    private static final int POSITION_BITS = 16;
+    private static final int POSITION_MASK = 0xFFFF;
+
+    private Rogue game;
+    private List<Room> rooms;
+    private BitSet rewritten = new BitSet();
+    private BitSet processed = new BitSet();
+    private IdentityHashMap<Room, Integer> slots;
+    private HashMap<Long, ArrayDeque<Item>> otherItems;
+    private long lastSequence = -1;
+    private int roomsRestored;
+    private int itemsMissing;
+
+    /**
+     * Constructor that takes the game to restore into.
+     * @param theGame - a game built from the dungeon the snapshots were taken from
+     */
+    public SnapshotReader(Rogue theGame) {
+        game = theGame;
+        rooms = game.getRooms();
+    }
+
+    /**
+     * Restores a full snapshot followed by the incremental snapshots taken after it.
+     * @param theGame - a game built from the dungeon the snapshots were taken from
+     * @param filenames - the full snapshot, then each incremental snapshot in the order it was taken
+     * @return the reader, for its statistics
+     * @throws IOException in case a file cannot be read or the snapshots do not fit together
+     */
+    public static SnapshotReader restore(Rogue theGame, String... filenames) throws IOException {
+        SnapshotReader reader = new SnapshotReader(theGame);
+        for (String filename : filenames) {
+            reader.apply(filename);
+        }
+        return reader;
+    }
+
+    /**
+     * Applies one snapshot file to the game.
+     * The first file applied must be a full snapshot, and each incremental one must
+     * directly follow the snapshot applied before it.
+     * The whole file is checked before any of it is applied, so a truncated or
+     * corrupt file leaves the game as it was.
+     * @param filename - name of the snapshot file
+     * @throws IOException in case the file cannot be read, is truncated or does not fit the game
+     */
+    public void apply(String filename) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.limit() < SnapshotFormat.HEADER_BYTES || mapped.getInt() != SnapshotFormat.MAGIC) {
+            throw new IOException("Not a snapshot file: " + filename);
+        }
+        if (mapped.getInt() != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version in " + filename);
+        }
+        byte kind = mapped.get();
+        int roomCount = mapped.getInt();
+        long sequence = mapped.getLong();
+        if (roomCount != rooms.size()) {
+            throw new IOException(filename + " was taken from a dungeon with " + roomCount + " rooms, not "
+                    + rooms.size());
+        }
+        if (kind != SnapshotFormat.FULL && kind != SnapshotFormat.INCREMENTAL) {
+            throw new IOException("Unknown snapshot kind " + kind + " in " + filename);
+        }
+        if (kind == SnapshotFormat.INCREMENTAL && (lastSequence < 0 || sequence != lastSequence + 1)) {
+            throw new IOException(filename + " does not follow the snapshot restored before it");
+        }
+        check(mapped.duplicate(), filename);
+        lastSequence = sequence;
+        otherItems = null;
+        processed.clear();
+
+        readPlayer(mapped);
+        int changed = mapped.getInt();
+        for (int i = 0; i < changed; i++) {
+            readRoom(mapped);
+        }
+    }
+
+    /**
+     * Method checks that the player and room records fit in the file and name real rooms,
+     * and records which rooms the file rewrites.
+     * @param in - a copy of the snapshot, positioned at the player
+     * @param filename - name of the snapshot file, for the error message
+     * @throws IOException in case a record runs past the end of the file or names no room
+     */
+    private void check(ByteBuffer in, String filename) throws IOException {
+        need(in, Short.BYTES, filename);
+        short length = in.getShort();
+        if (length != SnapshotFormat.NO_NAME) {
+            if (length < 0) {
+                throw new IOException("Player name length " + length + " in " + filename + " is not valid");
+            }
+            need(in, length, filename);
+            in.position(in.position() + length);
+        }
+        need(in, SnapshotFormat.PLAYER_BYTES, filename);
+        in.position(in.position() + SnapshotFormat.PLAYER_BYTES - Integer.BYTES);
+        int playerSlot = in.getInt();
+        if (playerSlot != SnapshotFormat.NO_ROOM && (playerSlot < 0 || playerSlot >= rooms.size())) {
+            throw new IOException("Player room " + playerSlot + " in " + filename + " is not in the dungeon");
+        }
+        need(in, Integer.BYTES, filename);
+        int changed = in.getInt();
+        if (changed < 0 || changed > in.remaining() / SnapshotFormat.ROOM_BYTES) {
+            throw new IOException("Room count " + changed + " does not fit in " + filename);
+        }
+        rewritten.clear();
+        for (int i = 0; i < changed; i++) {
+            need(in, SnapshotFormat.ROOM_BYTES, filename);
+            int slot = in.getInt();
+            int roomId = in.getInt();
+            if (slot < 0 || slot >= rooms.size() || rooms.get(slot).getId() != roomId) {
+                throw new IOException("Snapshot room " + roomId + " in " + filename + " does not match the dungeon");
+            }
+            rewritten.set(slot);
+            int itemCount = in.getInt();
+            if (itemCount < 0 || itemCount > in.remaining() / SnapshotFormat.ITEM_BYTES) {
+                throw new IOException("Item count " + itemCount + " does not fit in " + filename);
+            }
+            in.position(in.position() + itemCount * SnapshotFormat.ITEM_BYTES);
+        }
+    }
+
+    /**
+     * Method checks that a record fits in what is left of the file.
+     * @param in - the snapshot, positioned at the record
+     * @param bytes - size of the record
+     * @param filename - name of the snapshot file, for the error message
+     * @throws IOException in case the file ends before the record does
+     */
+    private static void need(ByteBuffer in, int bytes, String filename) throws IOException {
+        if (in.remaining() < bytes) {
+            throw new IOException("Snapshot " + filename + " is truncated");
+        }
+    }
+
+    /**
+     * Restores the player's name, position and room.
+     * @param in - the snapshot, positioned at the player
+     */
+    private void readPlayer(ByteBuffer in) {
+        short length = in.getShort();
+        String name = null;
+        if (length != SnapshotFormat.NO_NAME) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        boolean placed = in.get() != 0;
+        int x = in.getInt();
+        int y = in.getInt();
+        int slot = in.getInt();
+
+        Player player = game.getPlayer();
+        player.setName(name);
+        Room room = slot == SnapshotFormat.NO_ROOM ? null : rooms.get(slot);
+        game.placePlayer(room, x, y);
+        if (!placed) {
+            player.setXyLocation(null);
+        }
+    }
+
+    /**
+     * Method keys every item of the game by id and position.
+     * Only built when a saved item is not found in its own room.
+     */
+    private void collectOtherItems() {
+        if (slots == null) {
+            slots = new IdentityHashMap<>();
+            for (int slot = 0; slot < rooms.size(); slot++) {
+                slots.put(rooms.get(slot), slot);
+            }
+        }
+        otherItems = new HashMap<>();
+        for (Item item : game.getItems()) {
+            addCandidate(otherItems, item);
+        }
+    }
+
+    /**
+     * Method checks whether an item can still be matched to a saved one: it lies in no
+     * room, or in a room the file rewrites that has not been restored yet.
+     * @param item - the item
+     * @return true if the item is free to match
+     */
+    private boolean isFree(Item item) {
+        if (item.getRoom() == null) {
+            return true;
+        }
+        Integer slot = slots.get(item.getRoom());
+        return slot != null && rewritten.get(slot) && !processed.get(slot);
+    }
+
+    /**
+     * Method adds an item to a map of items keyed by id and position.
+     * @param keyed - the map
+     * @param item - the item
+     */
+    private static void addCandidate(HashMap<Long, ArrayDeque<Item>> keyed, Item item) {
+        keyed.computeIfAbsent(itemKey(item.getId(), item.getX(), item.getY()), key -> new ArrayDeque<>())
+                .addLast(item);
+    }
+
+    /**
+     * Restores the items lying in one room.
+     * @param in - the snapshot, positioned at the room
+     */
+    private void readRoom(ByteBuffer in) {
+        int slot = in.getInt();
+        Room room = rooms.get(slot);
+        processed.set(slot);
+        in.getInt();
+        int itemCount = in.getInt();
+        ArrayList<Item> restored = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Item item = take(room, in.getInt(), in.getInt(), in.getInt());
+            if (item == null) {
+                itemsMissing++;
+            } else {
+                restored.add(item);
+            }
+        }
+        room.setRoomItems(restored);
+        roomsRestored++;
+    }
+
+    /**
+     * Method finds a saved item and claims it for the room, so no other room can take it.
+     * @param room - the room being restored
+     * @param id - id of the item
+     * @param x - column of the item
+     * @param y - row of the item
+     * @return the item, or null if the game has no such item left
+     */
+    private Item take(Room room, int id, int x, int y) {
+        Item item = room.removeItemAt(id, x, y);
+        if (item == null) {
+            if (otherItems == null) {
+                collectOtherItems();
+            }
+            item = pollFree(otherItems.get(itemKey(id, x, y)));
+        }
+        if (item != null) {
+            room.claimItem(item);
+        }
+        return item;
+    }
+
+    /**
+     * Method removes the first item free to match from a group with the same id and position.
+     * @param matches - the group, or null if there is none
+     * @return the item, or null if no item of the group is free
+     */
+    private Item pollFree(ArrayDeque<Item> matches) {
+        if (matches != null) {
+            for (Iterator<Item> it = matches.iterator(); it.hasNext();) {
+                Item item = it.next();
+                if (isFree(item)) {
+                    it.remove();
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method packs an item's id and position into one key.
+     * @param id - id of the item
+     * @param x - column of the item
+     * @param y - row of the item
+     * @return the key
+     */
+    private static long itemKey(int id, int x, int y) {
+        return ((long) id << Integer.SIZE) | ((long) (x & POSITION_MASK) << POSITION_BITS) | (y & POSITION_MASK);
+    }
+
+    /**
+     * Accessor method to retrieve the number of room records applied.
+     * @return roomsRestored
+     */
+    public int getRoomsRestored() {
+        return roomsRestored;
+    }
+
+    /**
+     * Accessor method to retrieve the number of saved items the game has no match for.
+     * @return itemsMissing - 0 when the game was built from the snapshot's dungeon
+     */
+    public int getItemsMissing() {
+        return itemsMissing;
+    }
+}
@@ -0,0 +1,195 @@
+package rogue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Saves the state of a running game in the binary snapshot format.
+ * The writer remembers the version of every room as of its last snapshot,
+ * so an incremental snapshot only has to write the rooms changed since.
+ */
+public class SnapshotWriter {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private Rogue game;
+    private List<Room> rooms;
+    private IdentityHashMap<Room, Integer> slots;
+    private int[] savedVersions;
+    private long sequence = -1;
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /**
+     * Constructor that takes the game to save.
+     * @param theGame - the game
+     */
+    public SnapshotWriter(Rogue theGame) {
+        game = theGame;
+        rooms = game.getRooms();
+        slots = new IdentityHashMap<>(rooms.size() * 2);
+        for (int i = 0; i < rooms.size(); i++) {
+            slots.putIfAbsent(rooms.get(i), i);
+        }
+    }
+
+    /**
+     * Saves the player and every room.
+     * @param filename - name of the snapshot file
+     * @return number of rooms written
+     * @throws IOException in case the file cannot be written
+     */
+    public int writeFull(String filename) throws IOException {
+        ArrayList<Integer> changed = new ArrayList<>(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            changed.add(i);
+        }
+        write(filename, SnapshotFormat.FULL, 0, new int[rooms.size()], changed);
+        return changed.size();
+    }
+
+    /**
+     * Saves the player and the rooms changed since the last snapshot this writer saved.
+     * Writes a full snapshot if this writer has not saved one yet.
+     * @param filename - name of the snapshot file
+     * @return number of rooms written
+     * @throws IOException in case the file cannot be written
+     */
+    public int writeIncremental(String filename) throws IOException {
+        if (savedVersions == null) {
+            return writeFull(filename);
+        }
+        ArrayList<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            if (rooms.get(i).getVersion() != savedVersions[i]) {
+                changed.add(i);
+            }
+        }
+        write(filename, SnapshotFormat.INCREMENTAL, sequence + 1, savedVersions.clone(), changed);
+        return changed.size();
+    }
+
+    /**
+     * Writes a snapshot file, then records the versions of the rooms written.
+     * The writer's state only moves on once the file is complete, so after a failed
+     * write the next incremental snapshot still follows the last one that was saved.
+     * @param filename - name of the snapshot file
+     * @param kind - FULL or INCREMENTAL
+     * @param nextSequence - sequence number of this snapshot
+     * @param versions - room versions as of the last snapshot, updated for the rooms written
+     * @param changed - slots of the rooms to write
+     * @throws IOException in case the file cannot be written
+     */
+    private void write(String filename, byte kind, long nextSequence, int[] versions, List<Integer> changed)
+            throws IOException {
+        byte[] name = encodeName();
+        try (FileChannel out = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel = out;
+            buffer.clear();
+            buffer.putInt(SnapshotFormat.MAGIC).putInt(SnapshotFormat.VERSION).put(kind);
+            buffer.putInt(rooms.size()).putLong(nextSequence);
+            writePlayer(name);
+            reserve(Integer.BYTES);
+            buffer.putInt(changed.size());
+            for (int slot : changed) {
+                writeRoom(slot, versions);
+            }
+            flush();
+        } finally {
+            channel = null;
+        }
+        savedVersions = versions;
+        sequence = nextSequence;
+    }
+
+    /**
+     * Method encodes the player's name as it is saved.
+     * @return the name in UTF-8, or null if the player has no name
+     * @throws IOException in case the name is too long for a snapshot to hold
+     */
+    private byte[] encodeName() throws IOException {
+        String name = game.getPlayer().getName();
+        if (name == null) {
+            return null;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Player name is " + bytes.length + " bytes long; a snapshot holds at most "
+                    + Short.MAX_VALUE);
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the player's name, position and room.
+     * @param name - the player's name in UTF-8, or null if the player has no name
+     * @throws IOException in case the file cannot be written
+     */
+    private void writePlayer(byte[] name) throws IOException {
+        Player player = game.getPlayer();
+        if (name == null) {
+            buffer.putShort(SnapshotFormat.NO_NAME);
+        } else {
+            reserve(Short.BYTES + name.length);
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+        }
+        Integer slot = player.getCurrentRoom() == null ? null : slots.get(player.getCurrentRoom());
+        reserve(SnapshotFormat.PLAYER_BYTES);
+        buffer.put((byte) (player.isPlaced() ? 1 : 0));
+        buffer.putInt(player.getX());
+        buffer.putInt(player.getY());
+        buffer.putInt(slot == null ? SnapshotFormat.NO_ROOM : slot);
+    }
+
+    /**
+     * Writes the items lying in one room.
+     * @param slot - slot of the room
+     * @param versions - where the room's version is recorded
+     * @throws IOException in case the file cannot be written
+     */
+    private void writeRoom(int slot, int[] versions) throws IOException {
+        Room room = rooms.get(slot);
+        reserve(SnapshotFormat.ROOM_BYTES);
+        buffer.putInt(slot);
+        buffer.putInt(room.getId());
+        buffer.putInt(room.getRoomItems().size());
+        for (Item item : room.getRoomItems()) {
+            reserve(SnapshotFormat.ITEM_BYTES);
+            buffer.putInt(item.getId());
+            buffer.putInt(item.getX());
+            buffer.putInt(item.getY());
+        }
+        versions[slot] = room.getVersion();
+    }
+
+    /**
+     * Makes room in the buffer, flushing it to the file if needed.
+     * @param bytes - number of bytes about to be written
+     * @throws IOException in case the file cannot be written
+     */
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     * @throws IOException in case the file cannot be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package rogue;
+
+/**
+ * The rule for moving the player one step, shared by every kind of game.
+ * A step moves one tile towards a wall. A wall tile can only be crossed
+ * through the door on it, which leads to the first floor tile of the room
+ * behind; any other step onto a wall leaves the player where they were.
+ * Rooms are given by their size and the position of the door in the wall
+ * walked towards, so the rule works on built rooms and on flat tables alike.
+ */
+final class StepRule {
+    /** Column the player arrives on after walking through a door. */
+    static final int START_X = 1;
+    /** Row the player arrives on after walking through a door. */
+    static final int START_Y = 1;
+
+    /**
+     * Not instantiable.
+     */
+    private StepRule() {
+    }
+
+    /**
+     * Method finds the column one step towards a wall.
+     * @param toward - the wall walked towards
+     * @param x - column the step starts from
+     * @return the column the step lands on
+     */
+    static int nextX(Direction toward, int x) {
+        if (toward == Direction.WEST) {
+            return x - 1;
+        }
+        return toward == Direction.EAST ? x + 1 : x;
+    }
+
+    /**
+     * Method finds the row one step towards a wall.
+     * @param toward - the wall walked towards
+     * @param y - row the step starts from
+     * @return the row the step lands on
+     */
+    static int nextY(Direction toward, int y) {
+        if (toward == Direction.NORTH) {
+            return y - 1;
+        }
+        return toward == Direction.SOUTH ? y + 1 : y;
+    }
+
+    /**
+     * Method checks if a tile is on a room's walls.
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @param width - width of the room
+     * @param height - height of the room
+     * @return true if the tile is a wall tile
+     */
+    static boolean onWall(int x, int y, int width, int height) {
+        return x == 0 || x == width - 1 || y == 0 || y == height - 1;
+    }
+
+    /**
+     * Method finds how many tiles run along a wall.
+     * @param wall - the wall
+     * @param width - width of the room
+     * @param height - height of the room
+     * @return the width for the north and south walls, otherwise the height
+     */
+    static int wallLength(Direction wall, int width, int height) {
+        return wall == Direction.NORTH || wall == Direction.SOUTH ? width : height;
+    }
+
+    /**
+     * Method checks if a door position lies on a wall.
+     * @param wall - the wall
+     * @param position - position of the door along the wall
+     * @param width - width of the room
+     * @param height - height of the room
+     * @return true if a door there can be walked through
+     */
+    static boolean fitsWall(Direction wall, int position, int width, int height) {
+        return position >= 0 && position < wallLength(wall, width, height);
+    }
+
+    /**
+     * Method checks if a step onto a tile goes through the door in the wall walked towards.
+     * @param toward - the wall walked towards
+     * @param x - column the step lands on
+     * @param y - row the step lands on
+     * @param width - width of the room
+     * @param height - height of the room
+     * @param doorPosition - position of the door in that wall
+     * @return true if the step leaves the room through the door
+     */
+    static boolean throughDoor(Direction toward, int x, int y, int width, int height, int doorPosition) {
+        int along = toward.along(x, y);
+        return onWall(x, y, width, height) && fitsWall(toward, along, width, height) && along == doorPosition;
+    }
+}
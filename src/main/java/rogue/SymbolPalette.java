@@ -0,0 +1,106 @@
+package rogue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The display character of every symbol, compiled into an array indexed by tile kind.
+ * Walls, floors, doors and the player have fixed kinds. Every other symbol,
+ * such as an item type, gets a kind of its own when the palette is compiled,
+ * so looking a tile up while drawing is a single array read.
+ */
+public final class SymbolPalette {
+    /** Kind for symbols the palette does not know; it is drawn as a blank. */
+    public static final int UNKNOWN = 0;
+    /** Kind for floor tiles. */
+    public static final int FLOOR = 1;
+    /** Kind for the east and west walls. */
+    public static final int EW_WALL = 2;
+    /** Kind for the north and south walls. */
+    public static final int NS_WALL = 3;
+    /** Kind for doors. */
+    public static final int DOOR = 4;
+    /** Kind for the player. */
+    public static final int PLAYER = 5;
+
+    private static final String[] FIXED = {null, "FLOOR", "EW_WALL", "NS_WALL", "DOOR", "PLAYER"};
+    private static final char BLANK = ' ';
+    // Declared after FIXED and BLANK, which building it needs
+    /** A palette without any symbols, shared by rooms that have not been given theirs yet. */
+    public static final SymbolPalette EMPTY = new SymbolPalette(Collections.<String, Character>emptyMap());
+
+    private final char[] glyphs;
+    private final Map<String, Integer> kinds;
+    private final Map<String, Character> symbols;
+
+    /**
+     * Constructor that compiles a symbol map.
+     * @param symbolMap - display characters by symbol name
+     */
+    public SymbolPalette(Map<String, Character> symbolMap) {
+        TreeMap<String, Character> sorted = new TreeMap<>();
+        for (Map.Entry<String, Character> entry : symbolMap.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                sorted.put(entry.getKey(), entry.getValue());
+            }
+        }
+        HashMap<String, Integer> kindByName = new HashMap<>();
+        char[] table = new char[FIXED.length + sorted.size()];
+        Arrays.fill(table, BLANK);
+        for (int kind = 1; kind < FIXED.length; kind++) {
+            kindByName.put(FIXED[kind], kind);
+        }
+        int next = FIXED.length;
+        for (Map.Entry<String, Character> entry : sorted.entrySet()) {
+            Integer kind = kindByName.get(entry.getKey());
+            if (kind == null) {
+                kind = next++;
+                kindByName.put(entry.getKey(), kind);
+            }
+            table[kind] = entry.getValue();
+        }
+        glyphs = Arrays.copyOf(table, next);
+        kinds = Collections.unmodifiableMap(kindByName);
+        symbols = Collections.unmodifiableMap(sorted);
+    }
+
+    /**
+     * Method finds the kind of a symbol.
+     * @param name - name of the symbol
+     * @return the kind, or UNKNOWN if the palette has no such symbol
+     */
+    public int kindOf(String name) {
+        Integer kind = name == null ? null : kinds.get(name);
+        return kind == null ? UNKNOWN : kind;
+    }
+
+    /**
+     * Method finds the kind an item type is drawn with.
+     * Item types are matched to symbol names in upper case.
+     * @param type - the item's type
+     * @return the kind, or UNKNOWN if the palette has no symbol for the type
+     */
+    public int kindOfItem(String type) {
+        return type == null ? UNKNOWN : kindOf(type.toUpperCase());
+    }
+
+    /**
+     * Accessor method to retrieve the display character of a kind.
+     * @param kind - a kind from this palette
+     * @return the character, or a blank for UNKNOWN
+     */
+    public char glyph(int kind) {
+        return kind >= 0 && kind < glyphs.length ? glyphs[kind] : BLANK;
+    }
+
+    /**
+     * Accessor method to retrieve the symbols the palette was compiled from.
+     * @return a read-only copy of the symbol map
+     */
+    public Map<String, Character> getSymbols() {
+        return symbols;
+    }
+}
@@ -12,6 +12,9 @@ import java.awt.Container;
 import javax.swing.WindowConstants;
 import java.awt.BorderLayout;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
 
 public class WindowUI extends JFrame {
 
@@ -23,9 +26,17 @@ public class WindowUI extends JFrame {
     // Screen buffer dimensions are different than terminal dimensions
     public static final int COLS = 80;
     public static final int ROWS = 24;
+    private static final char QUIT = 'q';
+    private static final String METRICS_PROPERTY = "rogue.metrics.dumpSeconds";
+    private static final char NO_KEY = '\0';
     private final char startCol = 1;
     private final char msgRow = 1;
     private final char roomRow = 3;
+    private char[][] shownFrame = blankFrame();
+    private char[][] nextFrame = blankFrame();
+    private Room shownRoom;
+    private int shownRoomVersion;
+    private String shownMessage;
 
 
     /**
@@ -83,6 +94,106 @@ public class WindowUI extends JFrame {
         } catch (IOException e) {
             e.printStackTrace();
         }
+        layout(shownFrame, toDisplay, column, row);
+    }
+
+    /**
+     * Creates a frame the size of the screen buffer filled with blanks.
+     * @return the blank frame, indexed by row then column
+     */
+    private static char[][] blankFrame() {
+        char[][] frame = new char[ROWS][COLS];
+        for (char[] line : frame) {
+            Arrays.fill(line, ' ');
+        }
+        return frame;
+    }
+
+    /**
+     * Lays a string out in a frame the same way the terminal would print it.
+     * A newline moves to the first column of the next row, and anything
+     * outside the screen buffer is dropped.
+     *
+     * @param frame     the frame to write into
+     * @param toDisplay the string to be laid out
+     * @param column    the column in which to start
+     * @param row       the row in which to start
+     */
+    private static void layout(char[][] frame, String toDisplay, int column, int row) {
+        int col = column;
+        int line = row;
+        for (int i = 0; i < toDisplay.length(); i++) {
+            char ch = toDisplay.charAt(i);
+            if (ch == '\n') {
+                col = 0;
+                line++;
+            } else {
+                if (line >= 0 && line < ROWS && col >= 0 && col < COLS) {
+                    frame[line][col] = ch;
+                }
+                col++;
+            }
+        }
+    }
+
+    /**
+     * Redraws the screen by sending only the cells that differ from what is
+     * currently displayed. Cursor jumps are only issued between runs of
+     * changed cells.
+     *
+     * @param message the message to be displayed at the top of the room
+     * @param room    the room map to be drawn
+     **/
+    public void update(String message, String room) {
+        long start = System.nanoTime();
+        for (char[] line : nextFrame) {
+            Arrays.fill(line, ' ');
+        }
+        layout(nextFrame, message, startCol, msgRow);
+        layout(nextFrame, room, startCol, roomRow);
+
+        Terminal t = screen.getTerminal();
+        try {
+            for (int row = 0; row < ROWS; row++) {
+                int cursor = -1;
+                for (int col = 0; col < COLS; col++) {
+                    char ch = nextFrame[row][col];
+                    if (ch != shownFrame[row][col]) {
+                        if (cursor != col) {
+                            t.setCursorPosition(col, row);
+                        }
+                        t.putCharacter(ch);
+                        cursor = col + 1;
+                    }
+                }
+            }
+            t.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        char[][] swap = shownFrame;
+        shownFrame = nextFrame;
+        nextFrame = swap;
+        Metrics.DRAW.recordSince(start);
+    }
+
+    /**
+     * Redraws the screen with a room, unless neither the room nor the message
+     * has changed since the last time this was called.
+     *
+     * @param message the message to be displayed at the top of the room
+     * @param room    the room to be drawn
+     **/
+    public void updateIfChanged(String message, Room room) {
+        int roomVersion = room.getFrameVersion();
+        if (room == shownRoom && roomVersion == shownRoomVersion && message.equals(shownMessage)) {
+            return;
+        }
+        update(message, room.displayRoom());
+        shownRoom = room;
+        shownRoomVersion = room.getFrameVersion();
+        shownMessage = message;
     }
 
     /**
@@ -103,6 +214,7 @@ public class WindowUI extends JFrame {
      **/
     public void draw(String message, String room) {
 
+        long start = System.nanoTime();
         try {
             setMessage(message);
             putString(room, startCol, roomRow);
@@ -110,7 +222,7 @@ public class WindowUI extends JFrame {
         } catch (IOException e) {
 
         }
-
+        Metrics.DRAW.recordSince(start);
     }
 
     /**
@@ -135,22 +247,50 @@ public class WindowUI extends JFrame {
 
     /**
      * Obtains input from the user and returns it as a char.  Converts arrow
-     * keys to the equivalent movement keys in rogue.
+     * keys to the equivalent movement keys in rogue. Sleeps until a key is
+     * pressed instead of polling, so an idle game uses no CPU.
      *
      * @return the ascii value of the key pressed by the user
      **/
     public char getInput() {
-        KeyStroke keyStroke = null;
-        char returnChar;
-        while (keyStroke == null) {
-            try {
-                keyStroke = screen.pollInput();
+        try {
+            return toChar(screen.readInput());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return QUIT;
+        }
+    }
 
-            } catch (IOException e) {
-                e.printStackTrace();
+    /**
+     * Waits for the next key, then collects every other key already queued
+     * behind it, so a burst of keys can be handled with a single redraw.
+     *
+     * @return the keys pressed, in order, converted as by getInput
+     **/
+    public String getInputBatch() {
+        StringBuilder keys = new StringBuilder();
+        keys.append(getInput());
+        try {
+            KeyStroke keyStroke = screen.pollInput();
+            while (keyStroke != null) {
+                keys.append(toChar(keyStroke));
+                keyStroke = screen.pollInput();
             }
-
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+        return keys.toString();
+    }
+
+    /**
+     * Converts a keystroke to the character rogue understands.
+     *
+     * @param keyStroke the key pressed by the user
+     * @return the movement key for arrows, the quit key once the window is closed,
+     *         otherwise the character typed
+     **/
+    private static char toChar(KeyStroke keyStroke) {
+        char returnChar;
         if (keyStroke.getKeyType() == KeyType.ArrowDown) {
             returnChar = Rogue.DOWN;  //constant defined in rogue
         } else if (keyStroke.getKeyType() == KeyType.ArrowUp) {
@@ -159,48 +299,95 @@ public class WindowUI extends JFrame {
             returnChar = Rogue.LEFT;
         } else if (keyStroke.getKeyType() == KeyType.ArrowRight) {
             returnChar = Rogue.RIGHT;
+        } else if (keyStroke.getKeyType() == KeyType.EOF) {
+            returnChar = QUIT;
+        } else if (keyStroke.getCharacter() == null) {
+            returnChar = NO_KEY;
         } else {
             returnChar = keyStroke.getCharacter();
         }
         return returnChar;
     }
 
+    /**
+     * Method opens the dungeon named on the command line, or the json files if none is named.
+     * @param args - command line parameters, optionally the name of a compiled dungeon file
+     * @return the dungeon, or null if the compiled dungeon cannot be loaded
+     */
+    private static DungeonSource openDungeon(String[] args) {
+        String configurationFileLocation = "fileLocations.json";
+        if (args.length > 0) {
+            //Map a dungeon compiled by DungeonCompiler
+            try {
+                return new BinaryDungeon(args[0]);
+            } catch (IOException e) {
+                System.out.println("Cannot load compiled dungeon: " + args[0]);
+                return null;
+            }
+        }
+        //Parse the json files
+        return new RogueParser(configurationFileLocation);
+    }
+
+    /**
+     * Method publishes the timings over JMX, and prints them every so often if asked to.
+     */
+    private static void publishMetrics() {
+        try {
+            Metrics.registerMBeans();
+        } catch (JMException e) {
+            System.out.println("Cannot publish metrics: " + e.getMessage());
+        }
+        int dumpSeconds = Integer.getInteger(METRICS_PROPERTY, 0);
+        if (dumpSeconds > 0) {
+            Metrics.startDump(dumpSeconds, TimeUnit.SECONDS, System.err);
+        }
+    }
+
     /**
      * The controller method for making the game logic work.
      *
-     * @param args command line parameters
+     * @param args command line parameters, optionally the name of a compiled dungeon file
      **/
     public static void main(String[] args) {
 
         char userInput = 'h';
         String message;
-        String configurationFileLocation = "fileLocations.json";
-        //Parse the json files
-        RogueParser parser = new RogueParser(configurationFileLocation);
+        DungeonSource dungeon = openDungeon(args);
+        if (dungeon == null) {
+            return;
+        }
+        publishMetrics();
+        // allocate memory for the game and set it up
+        Rogue theGame = new Rogue(dungeon);
+        if (!theGame.getConnectivityReport().isConnected()) {
+            System.out.println("The dungeon file cannot be used as it contains invalid rooms: "
+                    + theGame.getConnectivityReport());
+            return;
+        }
         //allocate memory for the GUI
         WindowUI theGameUI = new WindowUI();
-        // allocate memory for the game and set it up
-        Rogue theGame = new Rogue(parser);
         //set up the initial game display
         Player thePlayer = new Player("Thulasi");
         theGame.setPlayer(thePlayer);
         message = "Welcome to my Rogue game";
-        theGameUI.draw(message, theGame.getNextDisplay());
+        theGameUI.update(message, theGame.getNextDisplay());
         theGameUI.setVisible(true);
 
-        while (userInput != 'q') {
-            //get input from the user
-            userInput = theGameUI.getInput();
-
-            //ask the game if the user can move there
-            try {
-                message = theGame.makeMove(userInput);
-                theGameUI.clear();
-                theGameUI.draw(message, theGame.getNextDisplay());
-            } catch (InvalidMoveException badMove) {
-                message = "I didn't understand what you meant, please enter a command";
-                theGameUI.setMessage(message);
+        while (userInput != QUIT) {
+            //wait for the user, taking every key they have typed so far
+            String keys = theGameUI.getInputBatch();
+
+            for (int i = 0; i < keys.length() && userInput != QUIT; i++) {
+                userInput = keys.charAt(i);
+                //ask the game if the user can move there
+                try {
+                    message = theGame.makeMove(userInput);
+                } catch (InvalidMoveException badMove) {
+                    message = "I didn't understand what you meant, please enter a command";
+                }
             }
+            theGameUI.updateIfChanged(message, theGame.getCurrentRoom());
         }
 
 
@@ -0,0 +1,150 @@
+package rogue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Checks that ConnectivityChecker joins every group of rooms to the starting room's.
+ */
+public class ConnectivityCheckerTest {
+    private static final int CHAINS = 5;
+    private static final int CHAIN_LENGTH = 4;
+    private static final int ROOM_WIDTH = 8;
+    private static final int ROOM_HEIGHT = 6;
+    private static final int DOOR_POSITION = 2;
+    private static final int DOORS_PER_JOIN = 2;
+
+    /**
+     * Repairs a dungeon of separate chains of rooms, so that a second check finds it whole.
+     */
+    @Test
+    public void repairsDisconnectedDungeon() {
+        Rogue game = new Rogue(chains());
+        ConnectivityReport report = game.getConnectivityReport();
+        assertEquals(CHAINS * CHAIN_LENGTH, report.getRoomCount());
+        assertEquals(CHAINS, report.getComponentCount());
+        assertEquals(DOORS_PER_JOIN * (CHAINS - 1), report.getDoorsAdded());
+        assertTrue(report.isConnected());
+
+        RoomListGraph graph = new RoomListGraph(game.getRooms(), (a, b) -> false);
+        assertEquals(CHAINS * CHAIN_LENGTH, reachable(graph, graph.getStartSlot()));
+        ConnectivityReport recheck = new ConnectivityChecker(graph, graph.getStartSlot()).repair();
+        assertEquals(1, recheck.getComponentCount());
+        assertEquals(0, recheck.getDoorsAdded());
+    }
+
+    /**
+     * Repairs two chains of rooms kept as an exit table, as LazyDungeon keeps them.
+     */
+    @Test
+    public void repairsExitTable() {
+        ExitTable exits = new ExitTable(2 * CHAIN_LENGTH);
+        for (int slot = 0; slot < 2 * CHAIN_LENGTH - 1; slot++) {
+            if (slot != CHAIN_LENGTH - 1) {
+                exits.setExit(slot, Direction.SOUTH, DOOR_POSITION, slot + 1);
+                exits.setExit(slot + 1, Direction.NORTH, DOOR_POSITION, slot);
+            }
+        }
+
+        ConnectivityReport report = new ConnectivityChecker(exits, 0).repair();
+        assertEquals(2, report.getComponentCount());
+        assertEquals(DOORS_PER_JOIN, report.getDoorsAdded());
+        assertTrue(report.isConnected());
+        assertEquals(exits.getNumOfRooms(), reachable(exits, 0));
+    }
+
+    /**
+     * Reports the rooms it cannot join when every wall of the connected rooms has a door.
+     */
+    @Test
+    public void reportsRoomsThatCannotBeJoined() {
+        ExitTable exits = new ExitTable(2);
+        for (Direction wall : Direction.values()) {
+            exits.setExit(0, wall, DOOR_POSITION, RoomGraph.NO_ROOM);
+        }
+
+        ConnectivityReport report = new ConnectivityChecker(exits, 0).repair();
+        assertEquals(2, report.getComponentCount());
+        assertEquals(0, report.getDoorsAdded());
+        assertFalse(report.isConnected());
+        assertEquals(Collections.singletonList(1), report.getUnreachableSlots());
+    }
+
+    /**
+     * Method describes CHAINS runs of CHAIN_LENGTH rooms, each linked north to south
+     * and none linked to another.
+     * @return a source over the dungeon, whose first room is the start
+     */
+    private static DungeonSource chains() {
+        List<RoomSpec> rooms = new ArrayList<>();
+        for (int id = 1; id <= CHAINS * CHAIN_LENGTH; id++) {
+            List<DoorSpec> doors = new ArrayList<>();
+            if ((id - 1) % CHAIN_LENGTH > 0) {
+                doors.add(new DoorSpec("N", DOOR_POSITION, id - 1));
+            }
+            if (id % CHAIN_LENGTH > 0) {
+                doors.add(new DoorSpec("S", DOOR_POSITION, id + 1));
+            }
+            rooms.add(new RoomSpec(id, id == 1, ROOM_HEIGHT, ROOM_WIDTH, doors.toArray(new DoorSpec[0])));
+        }
+        Map<String, Character> symbols = new HashMap<>();
+        symbols.put("FLOOR", '.');
+        symbols.put("EW_WALL", '|');
+        symbols.put("NS_WALL", '-');
+        symbols.put("DOOR", '+');
+        symbols.put("PLAYER", '@');
+        return new DungeonSource() {
+            private int next;
+
+            @Override
+            public Map<String, Character> getSymbols() {
+                return symbols;
+            }
+
+            @Override
+            public RoomSpec nextRoomSpec() {
+                return next < rooms.size() ? rooms.get(next++) : null;
+            }
+
+            @Override
+            public LootSpec nextLootSpec() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Method counts the rooms that can be walked to through doors.
+     * @param graph - the rooms and their doors
+     * @param start - slot to walk from
+     * @return number of rooms reached, including the start
+     */
+    private static int reachable(RoomGraph graph, int start) {
+        boolean[] seen = new boolean[graph.getNumOfRooms()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        seen[start] = true;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int slot = queue.poll();
+            count++;
+            for (Direction wall : Direction.values()) {
+                int other = graph.getExitRoom(slot, wall);
+                if (other != RoomGraph.NO_ROOM && !seen[other]) {
+                    seen[other] = true;
+                    queue.add(other);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,153 @@
+package rogue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks that IntMap finds every remaining key after removals shift its probe chains back.
+ */
+public class IntMapTest {
+    /** Entries that fill a default sized map as far as it goes without growing. */
+    private static final int FULL = 12;
+    /** Capacity of a default sized map. */
+    private static final int CAPACITY = 16;
+    /** Multiplier IntMap mixes keys with. */
+    private static final int HASH_MIX = 0x9E3779B9;
+    private static final int KEY_RANGE = 64;
+    private static final int OPERATIONS = 100000;
+    private static final long SEED = 17;
+
+    /**
+     * Removes each key of a full map whose keys all share one probe chain.
+     */
+    @Test
+    public void removeKeepsCollidingKeysReachable() {
+        int[] keys = collidingKeys();
+        for (int removed = 0; removed < FULL; removed++) {
+            IntMap<String> map = new IntMap<>();
+            for (int key : keys) {
+                map.put(key, "v" + key);
+            }
+            assertEquals("v" + keys[removed], map.remove(keys[removed]));
+            assertNull(map.remove(keys[removed]));
+            assertEquals(FULL - 1, map.size());
+            for (int i = 0; i < FULL; i++) {
+                assertEquals("key " + keys[i] + " after removing " + keys[removed],
+                        i == removed ? null : "v" + keys[i], map.get(keys[i]));
+            }
+        }
+    }
+
+    /**
+     * Removes a key whose chain wraps past the end of the table.
+     */
+    @Test
+    public void removeShiftsAcrossTableEnd() {
+        int[] keys = collidingKeys(CAPACITY - 2);
+        IntMap<String> map = new IntMap<>();
+        for (int key : keys) {
+            map.put(key, "v" + key);
+        }
+        for (int i = 0; i < FULL; i++) {
+            map.remove(keys[i]);
+            for (int j = i + 1; j < FULL; j++) {
+                assertEquals("v" + keys[j], map.get(keys[j]));
+            }
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Removes every key of a crowded map, one after another, then fills it again.
+     */
+    @Test
+    public void removeAllThenRefill() {
+        IntMap<String> map = filled();
+        for (int key = FULL - 1; key >= 0; key -= 2) {
+            map.remove(key);
+        }
+        for (int key = 0; key < FULL; key++) {
+            assertEquals(key % 2 == 0 ? "v" + key : null, map.get(key));
+        }
+        for (int key = 0; key < FULL; key += 2) {
+            map.remove(key);
+        }
+        assertTrue(map.isEmpty());
+        for (int key = 0; key < FULL; key++) {
+            assertNull(map.put(key, "w" + key));
+        }
+        for (int key = 0; key < FULL; key++) {
+            assertEquals("w" + key, map.get(key));
+        }
+    }
+
+    /**
+     * Runs random puts and removes over a small set of keys against a HashMap.
+     */
+    @Test
+    public void matchesHashMap() {
+        Random random = new Random(SEED);
+        IntMap<Integer> map = new IntMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = random.nextInt(KEY_RANGE) - KEY_RANGE / 2;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -KEY_RANGE; key < KEY_RANGE; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+    }
+
+    /**
+     * Method finds keys that all start probing at the same slot of a default sized map.
+     * @return FULL keys sharing home slot 0
+     */
+    private static int[] collidingKeys() {
+        return collidingKeys(0);
+    }
+
+    /**
+     * Method finds keys that all start probing at one slot of a default sized map.
+     * @param home - the slot
+     * @return FULL keys sharing that home slot
+     */
+    private static int[] collidingKeys(int home) {
+        int[] keys = new int[FULL];
+        int found = 0;
+        for (int key = 0; found < FULL; key++) {
+            int h = key * HASH_MIX;
+            if (((h ^ (h >>> (Integer.SIZE / 2))) & (CAPACITY - 1)) == home) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Method builds a default sized map holding keys 0 to FULL - 1.
+     * @return the map, with each key mapped to "v" and the key
+     */
+    private static IntMap<String> filled() {
+        IntMap<String> map = new IntMap<>();
+        for (int key = 0; key < FULL; key++) {
+            map.put(key, "v" + key);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,157 @@
+package rogue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks that a lazy dungeon plays and renders exactly like an eager game,
+ * however few rooms it may keep loaded.
+ */
+public class LazyDungeonTest {
+    private static final int ROOMS = 60;
+    private static final int GROUP_SIZE = 12;
+    private static final int ROOM_WIDTH = 8;
+    private static final int ROOM_HEIGHT = 6;
+    private static final int CHAIN_DOOR = 3;
+    private static final int LINK_DOOR = 2;
+    private static final int LINK_EVERY = 3;
+    private static final int MAX_LOOT = 3;
+    private static final String[] ITEM_TYPES = {"POTION", "FOOD", "GOLD"};
+    private static final long SEED = 11;
+    private static final int MOVES = 20000;
+    private static final int LARGE_BUDGET = 1000;
+
+    /**
+     * Compares the games when only one room besides the player's may stay loaded.
+     * @throws IOException never, the display is written to a builder
+     */
+    @Test
+    public void matchesEagerGameWithBudgetOfOne() throws IOException {
+        assertPlaysLikeEagerGame(1);
+    }
+
+    /**
+     * Compares the games when every room fits in the budget.
+     * @throws IOException never, the display is written to a builder
+     */
+    @Test
+    public void matchesEagerGameWithLargeBudget() throws IOException {
+        assertPlaysLikeEagerGame(LARGE_BUDGET);
+    }
+
+    /**
+     * Plays the same walk in both games, comparing them after every move.
+     * The dungeon has separate groups of rooms, so the repair doors are compared too.
+     * @param budget - most rooms the lazy dungeon keeps loaded
+     * @throws IOException never, the display is written to a builder
+     */
+    private void assertPlaysLikeEagerGame(int budget) throws IOException {
+        Rogue eager = new Rogue(dungeon());
+        LazyDungeon lazy = new LazyDungeon(dungeon(), budget);
+        assertEquals(eager.getConnectivityReport().getDoorsAdded(), lazy.getConnectivityReport().getDoorsAdded());
+
+        StringBuilder lazyDisplay = new StringBuilder();
+        lazy.displayAll(lazyDisplay);
+        assertEquals(eager.displayAll(), lazyDisplay.toString());
+
+        eager.getPlayer().setLocation(1, 1);
+        lazy.getPlayer().setLocation(1, 1);
+        String moves = HeadlessRunner.randomMoves(MOVES, SEED);
+        for (int i = 0; i < moves.length(); i++) {
+            eager.move(moves.charAt(i));
+            lazy.move(moves.charAt(i));
+            assertEquals("room after move " + i, eager.getPlayer().getCurrentRoom().getId(),
+                    lazy.getCurrentRoom().getId());
+            assertEquals("display after move " + i, eager.getNextDisplay(), lazy.getNextDisplay());
+            assertTrue(lazy.getLoadedSlots().size() <= Math.min(budget + 1, ROOMS));
+        }
+
+        lazyDisplay.setLength(0);
+        lazy.displayAll(lazyDisplay);
+        assertEquals(eager.displayAll(), lazyDisplay.toString());
+    }
+
+    /**
+     * Method describes a dungeon of separate groups of rooms, each a north-south chain
+     * with a few east-west links and random loot. No door leads from one group to another.
+     * The dungeon is the same on every call.
+     * @return a source over the dungeon, whose first room is the start
+     */
+    private static DungeonSource dungeon() {
+        Random random = new Random(SEED);
+        List<RoomSpec> rooms = new ArrayList<>();
+        List<LootSpec> loot = new ArrayList<>();
+        for (int id = 1; id <= ROOMS; id++) {
+            int first = (id - 1) / GROUP_SIZE * GROUP_SIZE + 1;
+            int last = Math.min(first + GROUP_SIZE - 1, ROOMS);
+            boolean linked = (id - first) % LINK_EVERY == 0;
+            List<DoorSpec> doors = new ArrayList<>();
+            if (id > first) {
+                doors.add(new DoorSpec("N", CHAIN_DOOR, id - 1));
+            }
+            if (id < last) {
+                doors.add(new DoorSpec("S", CHAIN_DOOR, id + 1));
+            }
+            if (linked && id + LINK_EVERY <= last) {
+                doors.add(new DoorSpec("E", LINK_DOOR, id + LINK_EVERY));
+            }
+            if (linked && id - LINK_EVERY >= first) {
+                doors.add(new DoorSpec("W", LINK_DOOR, id - LINK_EVERY));
+            }
+            rooms.add(new RoomSpec(id, id == 1, ROOM_HEIGHT, ROOM_WIDTH, doors.toArray(new DoorSpec[0])));
+            int count = random.nextInt(MAX_LOOT + 1);
+            for (int i = 0; i < count; i++) {
+                int itemId = loot.size() + 1;
+                loot.add(new LootSpec(id, itemId, 1 + random.nextInt(ROOM_WIDTH - 2),
+                        1 + random.nextInt(ROOM_HEIGHT - 2), "item" + itemId,
+                        ITEM_TYPES[random.nextInt(ITEM_TYPES.length)]));
+            }
+        }
+        return source(rooms, loot);
+    }
+
+    /**
+     * Method wraps room and item descriptions in a source.
+     * @param rooms - the rooms, in order
+     * @param loot - the items, in order
+     * @return a source positioned at the first room
+     */
+    private static DungeonSource source(List<RoomSpec> rooms, List<LootSpec> loot) {
+        Map<String, Character> symbols = new HashMap<>();
+        symbols.put("FLOOR", '.');
+        symbols.put("EW_WALL", '|');
+        symbols.put("NS_WALL", '-');
+        symbols.put("DOOR", '+');
+        symbols.put("PLAYER", '@');
+        symbols.put("POTION", '!');
+        symbols.put("FOOD", ':');
+        symbols.put("GOLD", '*');
+        return new DungeonSource() {
+            private int nextRoom;
+            private int nextLoot;
+
+            @Override
+            public Map<String, Character> getSymbols() {
+                return symbols;
+            }
+
+            @Override
+            public RoomSpec nextRoomSpec() {
+                return nextRoom < rooms.size() ? rooms.get(nextRoom++) : null;
+            }
+
+            @Override
+            public LootSpec nextLootSpec() {
+                return nextLoot < loot.size() ? loot.get(nextLoot++) : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package rogue;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks that ReplayEngine rebuilds a recorded game from a checkpoint part way through it.
+ */
+public class ReplayEngineTest {
+    private static final int ROOMS = 20;
+    private static final int ROOM_WIDTH = 7;
+    private static final int ROOM_HEIGHT = 5;
+    private static final int DOOR_POSITION = 2;
+    private static final long SEED = 3;
+    private static final long CHECKPOINT_EVERY = 1000;
+    private static final int TARGET = 3456;
+    private static final int MOVES = 6000;
+    private static final long STRAY_CHECKPOINT = 3400;
+
+    /** Directory the journal and checkpoints are written to. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Replays to a move between two checkpoints and compares with the game as it was recorded.
+     * @throws IOException in case the journal cannot be written or read
+     */
+    @Test
+    public void replayMatchesRecordedGame() throws IOException {
+        String base = new File(folder.getRoot(), "game").getPath();
+        String expected = record(base);
+
+        Rogue replayed = newGame();
+        ReplayEngine engine = new ReplayEngine(base);
+        assertEquals(TARGET, engine.replay(replayed, TARGET));
+        assertEquals(TARGET / CHECKPOINT_EVERY * CHECKPOINT_EVERY, engine.getCheckpointUsed());
+        assertEquals(TARGET % CHECKPOINT_EVERY, engine.getMovesReplayed());
+        assertEquals(expected, state(replayed));
+    }
+
+    /**
+     * Ignores a checkpoint file that the journal's index does not list.
+     * @throws IOException in case the journal cannot be written or read
+     */
+    @Test
+    public void ignoresCheckpointMissingFromIndex() throws IOException {
+        String base = new File(folder.getRoot(), "game").getPath();
+        String expected = record(base);
+        Files.write(Paths.get(MoveJournal.checkpointFile(base, STRAY_CHECKPOINT)),
+                "stray".getBytes(StandardCharsets.UTF_8));
+
+        Rogue replayed = newGame();
+        ReplayEngine engine = new ReplayEngine(base);
+        assertEquals(TARGET, engine.replay(replayed, TARGET));
+        assertEquals(TARGET / CHECKPOINT_EVERY * CHECKPOINT_EVERY, engine.getCheckpointUsed());
+        assertEquals(expected, state(replayed));
+    }
+
+    /**
+     * Falls back to an earlier checkpoint when the nearest ones are deleted or cut short.
+     * @throws IOException in case the journal cannot be written or read
+     */
+    @Test
+    public void fallsBackPastUnreadableCheckpoints() throws IOException {
+        String base = new File(folder.getRoot(), "game").getPath();
+        String expected = record(base);
+        long nearest = TARGET / CHECKPOINT_EVERY * CHECKPOINT_EVERY;
+        Files.delete(Paths.get(MoveJournal.checkpointFile(base, nearest)));
+        Path truncated = Paths.get(MoveJournal.checkpointFile(base, nearest - CHECKPOINT_EVERY));
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+
+        Rogue replayed = newGame();
+        ReplayEngine engine = new ReplayEngine(base);
+        assertEquals(TARGET, engine.replay(replayed, TARGET));
+        assertEquals(nearest - 2 * CHECKPOINT_EVERY, engine.getCheckpointUsed());
+        assertEquals(TARGET - engine.getCheckpointUsed(), engine.getMovesReplayed());
+        assertEquals(expected, state(replayed));
+    }
+
+    /**
+     * Method plays a recorded game past the target move.
+     * @param base - path the journal and checkpoints are named after
+     * @return the state of the game at the target move
+     * @throws IOException in case the journal cannot be written
+     */
+    private static String record(String base) throws IOException {
+        Rogue game = newGame();
+        String moves = HeadlessRunner.randomMoves(MOVES, SEED);
+        String expected;
+        try (MoveJournal journal = new MoveJournal(game, base, CHECKPOINT_EVERY)) {
+            game.setJournal(journal);
+            game.makeMoves(moves.substring(0, TARGET));
+            expected = state(game);
+            game.makeMoves(moves.substring(TARGET));
+        }
+        return expected;
+    }
+
+    /**
+     * Builds a fresh game on a chain of rooms linked north to south, with one gold coin in each.
+     * @return the game, with the player on the first floor tile of the first room
+     */
+    private static Rogue newGame() {
+        List<RoomSpec> rooms = new ArrayList<>();
+        List<LootSpec> loot = new ArrayList<>();
+        for (int id = 1; id <= ROOMS; id++) {
+            List<DoorSpec> doors = new ArrayList<>();
+            if (id > 1) {
+                doors.add(new DoorSpec("N", DOOR_POSITION, id - 1));
+            }
+            if (id < ROOMS) {
+                doors.add(new DoorSpec("S", DOOR_POSITION, id + 1));
+            }
+            rooms.add(new RoomSpec(id, id == 1, ROOM_HEIGHT, ROOM_WIDTH, doors.toArray(new DoorSpec[0])));
+            loot.add(new LootSpec(id, id, 1 + id % (ROOM_WIDTH - 2), 1 + id % (ROOM_HEIGHT - 2), "coin" + id, "GOLD"));
+        }
+        Map<String, Character> symbols = new HashMap<>();
+        symbols.put("FLOOR", '.');
+        symbols.put("EW_WALL", '|');
+        symbols.put("NS_WALL", '-');
+        symbols.put("DOOR", '+');
+        symbols.put("PLAYER", '@');
+        symbols.put("GOLD", '*');
+        Rogue game = new Rogue(new DungeonSource() {
+            private int nextRoom;
+            private int nextLoot;
+
+            @Override
+            public Map<String, Character> getSymbols() {
+                return symbols;
+            }
+
+            @Override
+            public RoomSpec nextRoomSpec() {
+                return nextRoom < rooms.size() ? rooms.get(nextRoom++) : null;
+            }
+
+            @Override
+            public LootSpec nextLootSpec() {
+                return nextLoot < loot.size() ? loot.get(nextLoot++) : null;
+            }
+        });
+        game.getPlayer().setLocation(1, 1);
+        return game;
+    }
+
+    /**
+     * Method describes everything a replay has to restore.
+     * @param game - the game
+     * @return the display of every room, then the player's room and position
+     */
+    private static String state(Rogue game) {
+        Player player = game.getPlayer();
+        return game.displayAll() + player.getCurrentRoom().getId() + ":" + player.getX() + "," + player.getY();
+    }
+}
@@ -0,0 +1,124 @@
+package rogue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Checks that a room's cached frame is reused while nothing changes and redrawn when something does.
+ */
+public class RoomFrameTest {
+    private static final int ROOM_WIDTH = 8;
+    private static final int ROOM_HEIGHT = 6;
+    private static final int DOOR_POSITION = 3;
+    private static final int ITEM_X = 2;
+    private static final int ITEM_Y = 2;
+    private static final int MOVED_X = 4;
+    private static final int MOVED_Y = 3;
+
+    /**
+     * Reuses the frame while the room stays the same.
+     */
+    @Test
+    public void reusesFrameWhileUnchanged() {
+        Room room = newRoom();
+        String first = room.displayRoom();
+        int version = room.getFrameVersion();
+        assertEquals(version, room.getFrameVersion());
+        assertSame(first, room.displayRoom());
+        assertEquals(version, room.getFrameVersion());
+    }
+
+    /**
+     * Redraws the frame when a door is put in a wall.
+     */
+    @Test
+    public void redrawsAfterSetDoor() {
+        Room room = newRoom();
+        room.displayRoom();
+        int version = room.getFrameVersion();
+        room.setDoor(new Door(Direction.NORTH, DOOR_POSITION));
+        assertTrue(version != room.getFrameVersion());
+        assertEquals('+', tile(room.displayRoom(), DOOR_POSITION, 0));
+    }
+
+    /**
+     * Redraws the frame when an item is added.
+     */
+    @Test
+    public void redrawsAfterAddItem() {
+        Room room = newRoom();
+        room.displayRoom();
+        int version = room.getFrameVersion();
+        room.addItem(new Item(1, "flask", "POTION", ITEM_X, ITEM_Y));
+        assertTrue(version != room.getFrameVersion());
+        assertEquals('!', tile(room.displayRoom(), ITEM_X, ITEM_Y));
+    }
+
+    /**
+     * Redraws the frame when an item in the room changes type or moves.
+     */
+    @Test
+    public void redrawsAfterItemChanges() {
+        Room room = newRoom();
+        Item item = new Item(1, "flask", "FOOD", ITEM_X, ITEM_Y);
+        room.addItem(item);
+        assertEquals(':', tile(room.displayRoom(), ITEM_X, ITEM_Y));
+
+        int version = room.getFrameVersion();
+        item.setType("POTION");
+        assertTrue(version != room.getFrameVersion());
+        assertEquals('!', tile(room.displayRoom(), ITEM_X, ITEM_Y));
+
+        item.setLocation(MOVED_X, MOVED_Y);
+        String frame = room.displayRoom();
+        assertEquals('.', tile(frame, ITEM_X, ITEM_Y));
+        assertEquals('!', tile(frame, MOVED_X, MOVED_Y));
+        assertSame(item, room.getItemAt(MOVED_X, MOVED_Y));
+    }
+
+    /**
+     * Refuses changes made through the item list, which would leave the frame stale.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void refusesChangesThroughItemList() {
+        Room room = newRoom();
+        room.displayRoom();
+        room.getRoomItems().add(new Item(1, "flask", "POTION", ITEM_X, ITEM_Y));
+    }
+
+    /**
+     * Method builds an empty room without doors.
+     * @return the room
+     */
+    private static Room newRoom() {
+        Map<String, Character> symbols = new HashMap<>();
+        symbols.put("FLOOR", '.');
+        symbols.put("EW_WALL", '|');
+        symbols.put("NS_WALL", '-');
+        symbols.put("DOOR", '+');
+        symbols.put("PLAYER", '@');
+        symbols.put("POTION", '!');
+        symbols.put("FOOD", ':');
+        Room room = new Room();
+        room.setWidth(ROOM_WIDTH);
+        room.setHeight(ROOM_HEIGHT);
+        room.setSymbols(symbols);
+        return room;
+    }
+
+    /**
+     * Method reads one tile of a rendered room.
+     * @param frame - the room's display
+     * @param x - column of the tile
+     * @param y - row of the tile
+     * @return the character drawn there
+     */
+    private static char tile(String frame, int x, int y) {
+        return frame.split("\n")[y].charAt(x);
+    }
+}
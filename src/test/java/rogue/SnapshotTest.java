@@ -0,0 +1,220 @@
+package rogue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks that SnapshotWriter and SnapshotReader bring a game back as it was saved.
+ */
+public class SnapshotTest {
+    private static final int ROOMS = 30;
+    private static final int ROOM_WIDTH = 8;
+    private static final int ROOM_HEIGHT = 6;
+    private static final int DOOR_POSITION = 3;
+    private static final String[] ITEM_TYPES = {"POTION", "FOOD", "GOLD"};
+    private static final int SHORT_WALK_MOVES = 300;
+    private static final int MOVES = 5000;
+    private static final long FIRST_WALK = 1;
+    private static final long SECOND_WALK = 2;
+    private static final long THIRD_WALK = 3;
+
+    /** Directory the snapshots are written to. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Restores a full snapshot and an incremental one taken after it.
+     * @throws IOException in case the snapshots cannot be written or read
+     */
+    @Test
+    public void restoresFullThenIncrementalSnapshot() throws IOException {
+        Rogue game = new Rogue(dungeon());
+        game.setPlayer(new Player("Saved"));
+        game.getPlayer().setLocation(1, 1);
+        SnapshotWriter writer = new SnapshotWriter(game);
+        String full = snapshotFile("full");
+        String incremental = snapshotFile("incremental");
+
+        game.makeMoves(HeadlessRunner.randomMoves(SHORT_WALK_MOVES, FIRST_WALK));
+        assertEquals(ROOMS, writer.writeFull(full));
+        MoveSummary second = game.makeMoves(HeadlessRunner.randomMoves(MOVES, SECOND_WALK));
+        assertFalse("the incremental snapshot has nothing to write", second.getItemsPicked().isEmpty());
+        writer.writeIncremental(incremental);
+
+        Rogue restored = new Rogue(dungeon());
+        SnapshotReader reader = SnapshotReader.restore(restored, full, incremental);
+        assertEquals(0, reader.getItemsMissing());
+        assertEquals(game.displayAll(), restored.displayAll());
+        assertEquals("Saved", restored.getPlayer().getName());
+        assertEquals(game.getPlayer().getX(), restored.getPlayer().getX());
+        assertEquals(game.getPlayer().getY(), restored.getPlayer().getY());
+        assertEquals(game.getPlayer().getCurrentRoom().getId(), restored.getPlayer().getCurrentRoom().getId());
+
+        String moves = HeadlessRunner.randomMoves(MOVES, THIRD_WALK);
+        game.makeMoves(moves);
+        restored.makeMoves(moves);
+        assertEquals(game.displayAll(), restored.displayAll());
+    }
+
+    /**
+     * Refuses an incremental snapshot that does not follow the one restored before it.
+     * @throws IOException in case the snapshots cannot be written
+     */
+    @Test
+    public void rejectsIncrementalSnapshotOutOfOrder() throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(new Rogue(dungeon()));
+        String full = snapshotFile("full");
+        String first = snapshotFile("first");
+        String second = snapshotFile("second");
+        writer.writeFull(full);
+        writer.writeIncremental(first);
+        writer.writeIncremental(second);
+        try {
+            SnapshotReader.restore(new Rogue(dungeon()), full, second);
+            fail("restored an incremental snapshot out of order");
+        } catch (IOException expected) {
+            // the second incremental snapshot needs the first one
+        }
+    }
+
+    /**
+     * Refuses a truncated snapshot without changing the game.
+     * @throws IOException in case the snapshot cannot be written
+     */
+    @Test
+    public void rejectsTruncatedSnapshot() throws IOException {
+        Rogue game = new Rogue(dungeon());
+        game.makeMoves(HeadlessRunner.randomMoves(MOVES, FIRST_WALK));
+        File file = new File(snapshotFile("full"));
+        new SnapshotWriter(game).writeFull(file.getPath());
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+
+        Rogue restored = new Rogue(dungeon());
+        String before = restored.displayAll();
+        try {
+            SnapshotReader.restore(restored, file.getPath());
+            fail("restored a truncated snapshot");
+        } catch (IOException expected) {
+            assertEquals(before, restored.displayAll());
+        }
+    }
+
+    /**
+     * Refuses to save a player name longer than the snapshot's length field can hold.
+     * @throws IOException in case the snapshot cannot be written for another reason
+     */
+    @Test
+    public void rejectsOverlongPlayerName() throws IOException {
+        Rogue game = new Rogue(dungeon());
+        char[] name = new char[Short.MAX_VALUE + 1];
+        Arrays.fill(name, 'a');
+        game.setPlayer(new Player(new String(name)));
+        try {
+            new SnapshotWriter(game).writeFull(snapshotFile("full"));
+            fail("saved a name too long to read back");
+        } catch (IOException expected) {
+            // the name's length is saved as a short
+        }
+    }
+
+    /**
+     * Leaves a saved item unmatched rather than taking it from a room the snapshot does not rewrite.
+     * @throws IOException in case the snapshots cannot be written or read
+     */
+    @Test
+    public void neverRestoresAnItemIntoTwoRooms() throws IOException {
+        Rogue game = new Rogue(dungeon());
+        SnapshotWriter writer = new SnapshotWriter(game);
+        String full = snapshotFile("full");
+        String incremental = snapshotFile("incremental");
+        writer.writeFull(full);
+        Item first = game.getRooms().get(0).getRoomItems().get(0);
+        game.getRooms().get(1).addItem(new Item(first.getId(), first.getName(), first.getType(), first.getX(),
+                first.getY()));
+        assertEquals(1, writer.writeIncremental(incremental));
+
+        Rogue restored = new Rogue(dungeon());
+        SnapshotReader reader = SnapshotReader.restore(restored, full, incremental);
+        assertEquals(1, reader.getItemsMissing());
+        Item kept = restored.getRooms().get(0).getItemAt(first.getX(), first.getY());
+        assertEquals(first.getId(), kept.getId());
+        for (Item item : restored.getRooms().get(1).getRoomItems()) {
+            assertTrue(item != kept);
+        }
+    }
+
+    /**
+     * Method describes a chain of rooms linked north to south, with up to two items in each.
+     * @return a source over the dungeon, whose first room is the start
+     */
+    private static DungeonSource dungeon() {
+        List<RoomSpec> rooms = new ArrayList<>();
+        List<LootSpec> loot = new ArrayList<>();
+        for (int id = 1; id <= ROOMS; id++) {
+            List<DoorSpec> doors = new ArrayList<>();
+            if (id > 1) {
+                doors.add(new DoorSpec("N", DOOR_POSITION, id - 1));
+            }
+            if (id < ROOMS) {
+                doors.add(new DoorSpec("S", DOOR_POSITION, id + 1));
+            }
+            rooms.add(new RoomSpec(id, id == 1, ROOM_HEIGHT, ROOM_WIDTH, doors.toArray(new DoorSpec[0])));
+            for (int i = 0; i < id % ITEM_TYPES.length; i++) {
+                int itemId = loot.size() + 1;
+                loot.add(new LootSpec(id, itemId, 1 + 2 * i, 1 + i, "item" + itemId, ITEM_TYPES[itemId % 2 + i]));
+            }
+        }
+        Map<String, Character> symbols = new HashMap<>();
+        symbols.put("FLOOR", '.');
+        symbols.put("EW_WALL", '|');
+        symbols.put("NS_WALL", '-');
+        symbols.put("DOOR", '+');
+        symbols.put("PLAYER", '@');
+        symbols.put("POTION", '!');
+        symbols.put("FOOD", ':');
+        symbols.put("GOLD", '*');
+        return new DungeonSource() {
+            private int nextRoom;
+            private int nextLoot;
+
+            @Override
+            public Map<String, Character> getSymbols() {
+                return symbols;
+            }
+
+            @Override
+            public RoomSpec nextRoomSpec() {
+                return nextRoom < rooms.size() ? rooms.get(nextRoom++) : null;
+            }
+
+            @Override
+            public LootSpec nextLootSpec() {
+                return nextLoot < loot.size() ? loot.get(nextLoot++) : null;
+            }
+        };
+    }
+
+    /**
+     * Method names a snapshot file in the temporary folder.
+     * @param name - name of the snapshot
+     * @return path of the file
+     */
+    private String snapshotFile(String name) {
+        return new File(folder.getRoot(), name + ".snap").getPath();
+    }
+}